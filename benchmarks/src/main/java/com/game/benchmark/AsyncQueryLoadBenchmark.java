@@ -0,0 +1,90 @@
+package com.game.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Load test of the async read endpoints with {@code player.async.executor} set to platform or
+ * virtual threads: 64 concurrent clients, throughput and the latency distribution (p99 in the
+ * sample time results). Compare both modes on the same JDK, 21 or later for the virtual mode:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar AsyncQueryLoadBenchmark -rf json
+ * </pre>
+ * The H2 database does not block on I/O; against MySQL (prod profile) the platform mode is bounded
+ * by player.async.threads, the virtual mode by db.pool.maximum-pool-size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class AsyncQueryLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"100000"})
+    public int rows;
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("player.async.enabled", "true");
+        properties.put("player.async.executor", executor);
+        // no rejections, the load test measures queueing, not shedding
+        properties.put("player.async.queue-capacity", "1000");
+        properties.put("player.async.timeout-ms", "60000");
+        context = BenchmarkData.startContext(properties);
+        BenchmarkData.seed(context.getBean(DataSource.class), rows, 42);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String findAllByParams() throws Exception {
+        return request("/rest/players?race=ELF&profession=SORCERER&pageSize=20");
+    }
+
+    @Benchmark
+    public String countAllByParams() throws Exception {
+        return request("/rest/players/count?banned=false&minLevel=100&maxLevel=200");
+    }
+
+    private String request(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)).andReturn();
+        result.getAsyncResult(60_000);
+        return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.game.benchmark;
+
+import com.game.config.AppConfig;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Application context and deterministic data set shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final Race[] RACES = Race.values();
+    private static final Profession[] PROFESSIONS = Profession.values();
+
+    // 2000-01-01 .. 3000-01-01, the range accepted by PlayerValidationServiceImpl
+    private static final long MIN_BIRTHDAY = 946_684_800_000L;
+    private static final long BIRTHDAY_SPAN = 30_000L * 24 * 60 * 60 * 1000;
+
+    private static final int MAX_EXPERIENCE = 10_000_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Starts the application context with the in-memory H2 database of the dev profile.
+     * The schema is created by the application's migrations.
+     */
+    public static AnnotationConfigWebApplicationContext startContext() {
+        return startContext(Collections.emptyMap());
+    }
+
+    /**
+     * Same as {@link #startContext()} with properties overriding application.properties.
+     */
+    public static AnnotationConfigWebApplicationContext startContext(Map<String, Object> properties) {
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().setActiveProfiles("dev");
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(AppConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    public static void seed(DataSource dataSource, int rows, long seed) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Random random = new Random(seed);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Player player = randomPlayer(random);
+            batch.add(new Object[]{player.getName(), player.getTitle(), player.getRace().name(),
+                    player.getProfession().name(), new Date(player.getBirthday().getTime()), player.isBanned(),
+                    player.getExperience(), player.getLevel(), player.getUntilNextLevel()});
+            if (batch.size() == INSERT_BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO player(name, title, race, profession, birthday, banned, " +
+                        "experience, level, untilNextLevel) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public static PlayerDTO randomDto(Random random) {
+        PlayerDTO dto = new PlayerDTO();
+        dto.setName(randomName(random, 4 + random.nextInt(7)));
+        dto.setTitle(randomName(random, 5 + random.nextInt(20)));
+        dto.setRace(RACES[random.nextInt(RACES.length)]);
+        dto.setProfession(PROFESSIONS[random.nextInt(PROFESSIONS.length)]);
+        dto.setBirthday(MIN_BIRTHDAY + (long) (random.nextDouble() * BIRTHDAY_SPAN));
+        dto.setBanned(random.nextInt(10) == 0);
+        dto.setExperience(1 + random.nextInt(MAX_EXPERIENCE - 1));
+        return dto;
+    }
+
+    public static Player randomPlayer(Random random) {
+        PlayerDTO dto = randomDto(random);
+        int experience = dto.getExperience();
+        int level = (int) ((Math.sqrt(2500d + 200 * experience) - 50) / 100);
+
+        Player player = new Player();
+        player.setName(dto.getName());
+        player.setTitle(dto.getTitle());
+        player.setRace(dto.getRace());
+        player.setProfession(dto.getProfession());
+        player.setBirthday(new java.util.Date(dto.getBirthday()));
+        player.setBanned(dto.getBanned());
+        player.setExperience(experience);
+        player.setLevel(level);
+        player.setUntilNextLevel(50 * (level + 1) * (level + 2) - experience);
+        return player;
+    }
+
+    public static List<Player> randomPlayers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Player player = randomPlayer(random);
+            player.setId(id);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static String randomName(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('а' + random.nextInt(32));
+        }
+        chars[0] = Character.toUpperCase(chars[0]);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,102 @@
+package com.game.benchmark;
+
+import com.game.controller.response.RankedPlayer;
+import com.game.index.Leaderboard;
+import com.game.index.PlayerIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard lookups (player.leaderboard.enabled) for players spread over the whole ranking,
+ * against counting the players ranked before one in the dev profile's H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final String RANK_SQL = "SELECT COUNT(*) + 1 FROM player WHERE banned = FALSE " +
+            "AND (experience > ? OR experience = ? AND id < ?)";
+
+    @Param({"100000"})
+    public int rows;
+
+    private AnnotationConfigWebApplicationContext context;
+    private Leaderboard leaderboard;
+    private JdbcTemplate jdbcTemplate;
+    private long[] ids;
+    private int[] experiences;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startContext(Collections.singletonMap("player.leaderboard.enabled", true));
+        DataSource dataSource = context.getBean(DataSource.class);
+        BenchmarkData.seed(dataSource, rows, 42);
+        // the seed bypasses the application, the leaderboard reads the table again
+        context.getBean(PlayerIndex.class).invalidate();
+        leaderboard = context.getBean(Leaderboard.class);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<long[]> sample = jdbcTemplate.query("SELECT id, experience FROM player WHERE banned = FALSE " +
+                "ORDER BY RAND() LIMIT 1024", (resultSet, row) -> new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+        ids = new long[sample.size()];
+        experiences = new int[sample.size()];
+        for (int i = 0; i < sample.size(); i++) {
+            ids[i] = sample.get(i)[0];
+            experiences[i] = (int) sample.get(i)[1];
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RankedPlayer> top() {
+        return leaderboard.top(null, null, 10);
+    }
+
+    @Benchmark
+    public Optional<RankedPlayer> rankOf() {
+        return leaderboard.rankOf(ids[nextSample()], null, null);
+    }
+
+    @Benchmark
+    public List<RankedPlayer> around() {
+        return leaderboard.around(ids[nextSample()], null, null, 5);
+    }
+
+    @Benchmark
+    public Integer rankOfBySql() {
+        int i = nextSample();
+        return jdbcTemplate.queryForObject(RANK_SQL, Integer.class, experiences[i], experiences[i], ids[i]);
+    }
+
+    private int nextSample() {
+        next = (next + 1) % ids.length;
+        return next;
+    }
+}
@@ -0,0 +1,96 @@
+package com.game.benchmark;
+
+import com.game.controller.response.PlayerPage;
+import com.game.entity.Player;
+import com.game.index.PlayerIndex;
+import com.game.service.PlayerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered reads through {@link PlayerService} against the dev profile's H2 database seeded with
+ * {@code rows} random players, with and without the in-memory player indexes.
+ * Run with {@code -p rows=1000000} for a larger data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerQueryBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"race=ELF&profession=SORCERER", "banned=false&minLevel=100&maxLevel=200&order=LEVEL", "name=аб"})
+    public String query;
+
+    /**
+     * none: the database. columns: player.index.enabled, lists and counts from the in-memory index.
+     * bitmaps: player.count-index.enabled, counts without name/title filters from bitmaps.
+     */
+    @Param({"none", "columns", "bitmaps"})
+    public String index;
+
+    private AnnotationConfigWebApplicationContext context;
+    private PlayerService playerService;
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("player.index.enabled", index.equals("columns"));
+        properties.put("player.count-index.enabled", index.equals("bitmaps"));
+        context = BenchmarkData.startContext(properties);
+        BenchmarkData.seed(context.getBean(DataSource.class), rows, 42);
+        // the seed bypasses the application, the indexes read the table again
+        context.getBean(PlayerIndex.class).invalidate();
+        playerService = context.getBean(PlayerService.class);
+
+        params = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            params.put(keyValue[0], keyValue[1]);
+        }
+        params.put("pageSize", "20");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Player> findAllByParams() {
+        return playerService.findAllByParams(new HashMap<>(params));
+    }
+
+    @Benchmark
+    public int countAllByParams() {
+        return playerService.countAllByParams(new HashMap<>(params));
+    }
+
+    @Benchmark
+    public PlayerPage findPageByParams() {
+        return playerService.findPageByParams(new HashMap<>(params));
+    }
+}
@@ -0,0 +1,71 @@
+package com.game.benchmark;
+
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning request parameters into a parameterized statement: parsing into {@link PlayerCriteria}
+ * and building the SQL with a warm and with a cold shape cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBuilderBenchmark {
+
+    @Param({"race=ELF", "race=ELF&profession=SORCERER&minExperience=50000&maxExperience=150000",
+            "name=ра&after=1041372000000&before=1136066400000&banned=false&minLevel=10&maxLevel=30&order=LEVEL"})
+    public String query;
+
+    private Map<String, String> params;
+    private PlayerQueryFactory warmFactory;
+
+    @Setup
+    public void setUp() {
+        params = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            params.put(keyValue[0], keyValue[1]);
+        }
+        warmFactory = new PlayerQueryFactory();
+        warmFactory.select(PlayerCriteria.fromParams(params));
+    }
+
+    @Benchmark
+    public PlayerCriteria parseCriteria() {
+        return PlayerCriteria.fromParams(params);
+    }
+
+    @Benchmark
+    public PlayerQuery buildSelectWarm() {
+        return warmFactory.select(PlayerCriteria.fromParams(params));
+    }
+
+    @Benchmark
+    public PlayerQuery buildSelectCold() {
+        return new PlayerQueryFactory().select(PlayerCriteria.fromParams(params));
+    }
+
+    @Benchmark
+    public PlayerQuery buildCountWarm() {
+        return warmFactory.count(PlayerCriteria.fromParams(params));
+    }
+}
@@ -0,0 +1,56 @@
+package com.game.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.game.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of players, as done by the message converter for GET /rest/players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"3", "20", "100"})
+    public int pageSize;
+
+    private List<Player> players;
+    private ObjectMapper mapper;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkData.randomPlayers(pageSize, 42);
+        mapper = new ObjectMapper();
+        listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Player.class));
+    }
+
+    @Benchmark
+    public byte[] serializeWithMapper() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(players);
+    }
+
+    @Benchmark
+    public byte[] serializeWithTypedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(players);
+    }
+}
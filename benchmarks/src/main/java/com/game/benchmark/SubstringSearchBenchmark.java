@@ -0,0 +1,93 @@
+package com.game.benchmark;
+
+import com.game.entity.Player;
+import com.game.index.PlayerIndex;
+import com.game.service.PlayerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name and title substring filters through {@link PlayerService}: the database's LIKE scan
+ * against the same LIKE on the ids the trigram index narrows it to. The 10M data set needs a
+ * heap of about 12 GB, pass {@code -jvmArgsAppend -Xmx12g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubstringSearchBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    /**
+     * Three and four characters use the trigrams, two fall back to scanning the rows. At 10M
+     * rows a three-letter name matches more than the 1024 candidates of the default limit and
+     * is scanned as well.
+     */
+    @Param({"name=абв", "title=абвг", "name=абв&title=где", "race=ELF&name=аб"})
+    public String query;
+
+    /**
+     * none: the database's LIKE. trigrams: player.text-index.enabled.
+     */
+    @Param({"none", "trigrams"})
+    public String index;
+
+    private AnnotationConfigWebApplicationContext context;
+    private PlayerService playerService;
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("player.text-index.enabled", index.equals("trigrams"));
+        context = BenchmarkData.startContext(properties);
+        BenchmarkData.seed(context.getBean(DataSource.class), rows, 42);
+        // the seed bypasses the application, the index reads the table again
+        context.getBean(PlayerIndex.class).invalidate();
+        playerService = context.getBean(PlayerService.class);
+
+        params = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            params.put(keyValue[0], keyValue[1]);
+        }
+        params.put("pageSize", "20");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Player> findAllByParams() {
+        return playerService.findAllByParams(new HashMap<>(params));
+    }
+
+    @Benchmark
+    public int countAllByParams() {
+        return playerService.countAllByParams(new HashMap<>(params));
+    }
+}
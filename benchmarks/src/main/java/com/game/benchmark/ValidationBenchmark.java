@@ -0,0 +1,51 @@
+package com.game.benchmark;
+
+import com.game.controller.request.PlayerDTO;
+import com.game.service.impl.PlayerValidationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private PlayerValidationServiceImpl validationService;
+    private PlayerDTO[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        validationService = new PlayerValidationServiceImpl();
+        Random random = new Random(42);
+        requests = new PlayerDTO[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            requests[i] = BenchmarkData.randomDto(random);
+        }
+    }
+
+    @Benchmark
+    public void validateCreateRequest(Blackhole blackhole) {
+        index = (index + 1) & (SAMPLES - 1);
+        PlayerDTO request = requests[index];
+        validationService.validateCreateRequest(request);
+        blackhole.consume(request);
+    }
+}
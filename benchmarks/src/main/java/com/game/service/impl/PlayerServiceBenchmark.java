@@ -0,0 +1,92 @@
+package com.game.service.impl;
+
+import com.game.benchmark.BenchmarkData;
+import com.game.cache.NoOpPlayerCache;
+import com.game.cache.NoOpQueryResultCache;
+import com.game.index.NoOpPlayerIndex;
+import com.game.metrics.QueryStatistics;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Player;
+import com.game.repository.query.PlayerQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-only paths of {@link PlayerServiceImpl}: building a player from a request and the level
+ * formulas. Lives in the service package to reach the package-private level methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerServiceBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private PlayerServiceImpl service;
+    private LevelCalculator levelCalculator;
+    private PlayerDTO[] requests;
+    private int[] experiences;
+    private int[] levels;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        // create() needs none of the other collaborators
+        levelCalculator = new LevelCalculator();
+        service = new PlayerServiceImpl(null, new PlayerQueryFactory(), levelCalculator, new NoOpPlayerCache(),
+                new NoOpQueryResultCache(), new NoOpPlayerIndex(), new QueryStatistics(500, 1000), null, true, 1000, 10, 1000);
+
+        Random random = new Random(42);
+        requests = new PlayerDTO[SAMPLES];
+        experiences = new int[SAMPLES];
+        levels = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            requests[i] = BenchmarkData.randomDto(random);
+            experiences[i] = requests[i].getExperience();
+            levels[i] = levelCalculator.level(experiences[i]);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Player create() {
+        return service.create(requests[next()]);
+    }
+
+    @Benchmark
+    public int level() {
+        return levelCalculator.level(experiences[next()]);
+    }
+
+    /**
+     * The formula the lookup table replaced, for comparison.
+     */
+    @Benchmark
+    public int levelBySqrt() {
+        return (int) ((Math.sqrt(2500d + 200 * experiences[next()]) - 50) / 100);
+    }
+
+    @Benchmark
+    public int experienceUntilNextLevel() {
+        int i = next();
+        return levelCalculator.experienceUntilNextLevel(levels[i], experiences[i]);
+    }
+}
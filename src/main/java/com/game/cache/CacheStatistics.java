@@ -0,0 +1,67 @@
+package com.game.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class CacheStatistics {
+
+    private final String name;
+
+    private final boolean enabled;
+
+    private final long size;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private CacheStatistics(String name, boolean enabled, long size, long hits, long misses, long evictions) {
+        this.name = name;
+        this.enabled = enabled;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    static CacheStatistics of(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(name, true, cache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    static CacheStatistics disabled(String name) {
+        return new CacheStatistics(name, false, 0, 0, 0, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,68 @@
+package com.game.cache;
+
+import com.game.entity.Player;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded {@link PlayerCache} with expiry after write. Only existing players are cached,
+ * lookups of unknown ids always reach the loader. A load holds its entry until it is cached, so an
+ * eviction or update of the same id racing it waits and applies to the loaded player.
+ */
+public class CaffeinePlayerCache implements PlayerCache {
+
+    public static final String NAME = "players";
+
+    private final Cache<Long, Player> cache;
+
+    public CaffeinePlayerCache(long maximumSize, Duration expireAfterWrite) {
+        this(maximumSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    CaffeinePlayerCache(long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<Player> get(Long id, Function<Long, Optional<Player>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    @Override
+    public void put(Player player) {
+        cache.put(player.getId(), player);
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        // computeIfPresent would skip an entry still loading, compute waits for it
+        cache.asMap().compute(id, (key, cached) -> cached == null ? null : change.apply(cached));
+    }
+
+    @Override
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return CacheStatistics.of(NAME, cache);
+    }
+}
@@ -0,0 +1,89 @@
+package com.game.cache;
+
+import com.game.repository.query.PlayerCriteria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded {@link QueryResultCache}. Invalidation only increments the generation that is
+ * part of every key; entries of older generations are never hit again and age out by size or
+ * expiry. The generation is read before loading, so a result computed concurrently with a
+ * write is stored under the old generation and never served after it.
+ */
+public class CaffeineQueryResultCache implements QueryResultCache {
+
+    public static final String NAME = "player-queries";
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Key, Object> cache;
+
+    public CaffeineQueryResultCache(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Kind kind, PlayerCriteria criteria, Supplier<T> loader) {
+        boolean filtersOnly = kind == Kind.COUNT || kind == Kind.FACETS;
+        Key key = new Key(generation.get(), kind, filtersOnly ? criteria.withoutPaging() : criteria);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return CacheStatistics.of(NAME, cache);
+    }
+
+    private static final class Key {
+
+        private final long generation;
+        private final Kind kind;
+        private final PlayerCriteria criteria;
+        private final int hash;
+
+        private Key(long generation, Kind kind, PlayerCriteria criteria) {
+            this.generation = generation;
+            this.kind = kind;
+            this.criteria = criteria;
+            this.hash = Objects.hash(generation, kind, criteria);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return generation == that.generation && kind == that.kind && criteria.equals(that.criteria);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
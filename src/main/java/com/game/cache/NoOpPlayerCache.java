@@ -0,0 +1,39 @@
+package com.game.cache;
+
+import com.game.entity.Player;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link PlayerCache} that always delegates to the loader, used where caching is switched off.
+ */
+public class NoOpPlayerCache implements PlayerCache {
+
+    @Override
+    public Optional<Player> get(Long id, Function<Long, Optional<Player>> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public void put(Player player) {
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return CacheStatistics.disabled(CaffeinePlayerCache.NAME);
+    }
+}
@@ -0,0 +1,25 @@
+package com.game.cache;
+
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link QueryResultCache} that always runs the query, used where caching is switched off.
+ */
+public class NoOpQueryResultCache implements QueryResultCache {
+
+    @Override
+    public <T> T get(Kind kind, PlayerCriteria criteria, Supplier<T> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return CacheStatistics.disabled(CaffeineQueryResultCache.NAME);
+    }
+}
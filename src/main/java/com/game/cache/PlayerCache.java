@@ -0,0 +1,30 @@
+package com.game.cache;
+
+import com.game.entity.Player;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process cache of {@link Player} entities by id.
+ * Cached instances are shared between requests and must not be modified.
+ */
+public interface PlayerCache {
+
+    Optional<Player> get(Long id, Function<Long, Optional<Player>> loader);
+
+    void put(Player player);
+
+    /**
+     * Replaces the cached player with the result of the change, which must return a new instance.
+     * Does nothing if the player is not cached.
+     */
+    void update(Long id, UnaryOperator<Player> change);
+
+    void evict(Long id);
+
+    void clear();
+
+    CacheStatistics statistics();
+}
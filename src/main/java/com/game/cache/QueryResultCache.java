@@ -0,0 +1,27 @@
+package com.game.cache;
+
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache of filtered player query results keyed by the normalized {@link PlayerCriteria}.
+ * Any write makes every cached result unreachable by moving to a new generation.
+ * Cached results are shared between requests and must not be modified.
+ */
+public interface QueryResultCache {
+
+    enum Kind {
+        LIST,
+        COUNT,
+        FACETS,
+        PAGE,
+        SLICE
+    }
+
+    <T> T get(Kind kind, PlayerCriteria criteria, Supplier<T> loader);
+
+    void invalidate();
+
+    CacheStatistics statistics();
+}
@@ -1,13 +1,23 @@
 package com.game.config;
 
+import com.game.metrics.PoolMetricsTrackerFactory;
+import com.game.metrics.RequestMetricsSessionListener;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -17,6 +27,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
+import java.util.Locale;
 import java.util.Properties;
 
 import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
@@ -25,13 +36,59 @@ import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.
 @EnableTransactionManagement
 @ComponentScan("com.game")
 @EnableJpaRepositories(basePackages = "com.game.repository")
+@PropertySource("classpath:application.properties")
+@PropertySource(value = "file:${rpg.config.location:/etc/rpg/application.properties}", ignoreResourceNotFound = true)
 public class AppConfig {
 
+    private final Environment env;
+
+    public AppConfig(Environment env) {
+        this.env = env;
+    }
+
+    @Bean(initMethod = "migrate")
+    public Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    /**
+     * Optional schema mode (player.schema.generated-levels=true) in which the database derives
+     * level and untilNextLevel from experience. Its migrations are vendor specific and tracked in
+     * their own history table. The mode cannot be switched off again without a migration that
+     * turns the columns back into plain ones.
+     */
+    @Bean
+    @DependsOn("flyway")
+    public Flyway generatedLevelsFlyway(DataSource dataSource) throws MetaDataAccessException {
+        String vendor = JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/generated-levels/" + vendor.toLowerCase(Locale.ROOT))
+                .table("flyway_generated_levels_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+        if (isGeneratedLevels()) {
+            flyway.migrate();
+        }
+        return flyway;
+    }
+
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+    @DependsOn({"flyway", "generatedLevelsFlyway"})
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
-        em.setDataSource(dataSource());
+        em.setDataSource(dataSource);
         em.setPackagesToScan("com.game.entity");
+        if (isGeneratedLevels()) {
+            em.setMappingResources("META-INF/orm-generated-levels.xml");
+        }
 
         JpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
@@ -41,14 +98,30 @@ public class AppConfig {
     }
 
     @Profile("prod")
-    @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
-        dataSource.setUrl("jdbc:mysql://localhost:3306/rpg?serverTimezone=UTC&characterEncoding=UTF-8");
-        dataSource.setUsername("root");
-        dataSource.setPassword("root");
-        return dataSource;
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(PoolMetricsTrackerFactory metricsTrackerFactory) {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName(env.getRequiredProperty("db.driver-class-name"));
+        config.setJdbcUrl(env.getRequiredProperty("db.url"));
+        config.setUsername(env.getRequiredProperty("db.username"));
+        config.setPassword(env.getRequiredProperty("db.password"));
+
+        config.setPoolName(env.getProperty("db.pool.name", "rpg-pool"));
+        config.setMaximumPoolSize(env.getProperty("db.pool.maximum-pool-size", Integer.class, 20));
+        config.setMinimumIdle(env.getProperty("db.pool.minimum-idle", Integer.class, 5));
+        config.setConnectionTimeout(env.getProperty("db.pool.connection-timeout-ms", Long.class, 30_000L));
+        config.setIdleTimeout(env.getProperty("db.pool.idle-timeout-ms", Long.class, 600_000L));
+        config.setMaxLifetime(env.getProperty("db.pool.max-lifetime-ms", Long.class, 1_800_000L));
+        config.setLeakDetectionThreshold(env.getProperty("db.pool.leak-detection-threshold-ms", Long.class, 0L));
+        config.setRegisterMbeans(env.getProperty("db.pool.register-mbeans", Boolean.class, true));
+        config.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        config.addDataSourceProperty("cachePrepStmts", env.getProperty("db.pool.cache-prep-stmts", "true"));
+        config.addDataSourceProperty("useServerPrepStmts", env.getProperty("db.pool.use-server-prep-stmts", "true"));
+        config.addDataSourceProperty("prepStmtCacheSize", env.getProperty("db.pool.prep-stmt-cache-size", "250"));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", env.getProperty("db.pool.prep-stmt-cache-sql-limit", "2048"));
+
+        return new HikariDataSource(config);
     }
 
     @Profile("dev")
@@ -60,7 +133,6 @@ public class AppConfig {
                 .setType(H2)
                 .setScriptEncoding("UTF-8")
                 .ignoreFailedDrops(true)
-                .addScript("test.sql")
                 .build();
     }
 
@@ -77,9 +149,14 @@ public class AppConfig {
         return new PersistenceExceptionTranslationPostProcessor();
     }
 
+    private boolean isGeneratedLevels() {
+        return env.getProperty("player.schema.generated-levels", Boolean.class, false);
+    }
+
     private Properties additionalProperties() {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.MySQL5Dialect");
+        properties.setProperty(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestMetricsSessionListener.class.getName());
 
         return properties;
     }
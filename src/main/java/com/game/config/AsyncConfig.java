@@ -0,0 +1,59 @@
+package com.game.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@Conditional(AsyncQueriesCondition.Enabled.class)
+public class AsyncConfig {
+
+    private final Environment env;
+
+    public AsyncConfig(Environment env) {
+        this.env = env;
+    }
+
+    /**
+     * Runs the queries of the async read endpoints, on a bounded thread pool or, with
+     * player.async.executor=virtual, on one virtual thread per query. Either way the number
+     * of queries in flight is bounded and an excess task is rejected instead of blocking the caller.
+     */
+    @Bean
+    public Executor playerQueryExecutor() {
+        String mode = env.getProperty("player.async.executor", "platform");
+        switch (mode) {
+            case "platform":
+                return threadPoolExecutor();
+            case "virtual":
+                return virtualThreadExecutor();
+            default:
+                throw new IllegalStateException("Unknown player.async.executor: " + mode);
+        }
+    }
+
+    private ThreadPoolTaskExecutor threadPoolExecutor() {
+        int threads = env.getProperty("player.async.threads", Integer.class, 20);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(env.getProperty("player.async.queue-capacity", Integer.class, 100));
+        executor.setThreadNamePrefix("player-query-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * The connection pool is the real bound here: up to maximum-pool-size queries run,
+     * up to queue-capacity more wait for a connection.
+     */
+    private ThreadPerTaskExecutor virtualThreadExecutor() {
+        int maxConcurrency = env.getProperty("db.pool.maximum-pool-size", Integer.class, 20)
+                + env.getProperty("player.async.queue-capacity", Integer.class, 100);
+        return new ThreadPerTaskExecutor(VirtualThreads.factory("player-query-"), maxConcurrency);
+    }
+}
@@ -0,0 +1,39 @@
+package com.game.config;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Switches the player read endpoints between the synchronous and the asynchronous
+ * controller on the {@value #PROPERTY} property.
+ */
+public abstract class AsyncQueriesCondition implements Condition {
+
+    public static final String PROPERTY = "player.async.enabled";
+
+    private final boolean enabled;
+
+    AsyncQueriesCondition(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return context.getEnvironment().getProperty(PROPERTY, Boolean.class, false) == enabled;
+    }
+
+    public static class Enabled extends AsyncQueriesCondition {
+
+        public Enabled() {
+            super(true);
+        }
+    }
+
+    public static class Disabled extends AsyncQueriesCondition {
+
+        public Disabled() {
+            super(false);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.game.config;
+
+import com.game.cache.CaffeinePlayerCache;
+import com.game.cache.CaffeineQueryResultCache;
+import com.game.cache.NoOpPlayerCache;
+import com.game.cache.NoOpQueryResultCache;
+import com.game.cache.PlayerCache;
+import com.game.cache.QueryResultCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    private final Environment env;
+
+    public CacheConfig(Environment env) {
+        this.env = env;
+    }
+
+    @Profile("prod")
+    @Bean
+    public PlayerCache playerCache() {
+        return new CaffeinePlayerCache(
+                env.getProperty("player.cache.maximum-size", Long.class, 10_000L),
+                Duration.ofMillis(env.getProperty("player.cache.expire-after-write-ms", Long.class, 300_000L)));
+    }
+
+    @Profile("dev")
+    @Bean(name = "playerCache")
+    public PlayerCache noOpPlayerCache() {
+        return new NoOpPlayerCache();
+    }
+
+    @Profile("prod")
+    @Bean
+    public QueryResultCache queryResultCache() {
+        return new CaffeineQueryResultCache(
+                env.getProperty("player.query-cache.maximum-size", Long.class, 5_000L),
+                Duration.ofMillis(env.getProperty("player.query-cache.expire-after-write-ms", Long.class, 60_000L)));
+    }
+
+    @Profile("dev")
+    @Bean(name = "queryResultCache")
+    public QueryResultCache noOpQueryResultCache() {
+        return new NoOpQueryResultCache();
+    }
+}
@@ -0,0 +1,18 @@
+package com.game.config;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Creates the leaderboard and its endpoints only with the {@value #PROPERTY} property.
+ */
+public class LeaderboardCondition implements Condition {
+
+    public static final String PROPERTY = "player.leaderboard.enabled";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return context.getEnvironment().getProperty(PROPERTY, Boolean.class, false);
+    }
+}
@@ -0,0 +1,66 @@
+package com.game.config;
+
+import com.game.index.CompositePlayerIndex;
+import com.game.index.InMemoryLeaderboard;
+import com.game.index.InMemoryPlayerIndex;
+import com.game.index.NoOpPlayerIndex;
+import com.game.index.PlayerIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Configuration
+public class PlayerIndexConfig {
+
+    private final Environment env;
+
+    public PlayerIndexConfig(Environment env) {
+        this.env = env;
+    }
+
+    /**
+     * With player.index.enabled, filtered lists and counts are answered from an in-memory copy of
+     * the player table that is kept current by the application's own writes. With only
+     * player.count-index.enabled, a smaller bitmap index answers most counts. With
+     * player.text-index.enabled, trigrams of names and titles narrow the queries these leave to the
+     * database. The writes also reach the leaderboard if there is one.
+     */
+    @Bean
+    @Primary
+    public PlayerIndex playerIndex(DataSource dataSource, Optional<InMemoryLeaderboard> leaderboard) {
+        List<PlayerIndex> indexes = new ArrayList<>();
+        indexes.add(tableIndex(dataSource));
+        if (env.getProperty("player.text-index.enabled", Boolean.class, false)) {
+            indexes.add(InMemoryPlayerIndex.textCandidates(dataSource,
+                    env.getProperty("player.text-index.max-candidates", Integer.class, 1024)));
+        }
+        leaderboard.ifPresent(indexes::add);
+        return indexes.size() == 1 ? indexes.get(0) : new CompositePlayerIndex(indexes.toArray(new PlayerIndex[0]));
+    }
+
+    /**
+     * Ranking by experience for the /rest/leaderboard endpoints.
+     */
+    @Bean
+    @Conditional(LeaderboardCondition.class)
+    public InMemoryLeaderboard leaderboard(DataSource dataSource) {
+        return new InMemoryLeaderboard(dataSource);
+    }
+
+    private PlayerIndex tableIndex(DataSource dataSource) {
+        if (env.getProperty("player.index.enabled", Boolean.class, false)) {
+            return InMemoryPlayerIndex.columnar(dataSource);
+        }
+        if (env.getProperty("player.count-index.enabled", Boolean.class, false)) {
+            return InMemoryPlayerIndex.bitmapCounts(dataSource);
+        }
+        return new NoOpPlayerIndex();
+    }
+}
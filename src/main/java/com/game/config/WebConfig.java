@@ -1,13 +1,20 @@
 package com.game.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.metrics.RequestMetricsInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,12 +22,24 @@ import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.servlet.view.JstlView;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableWebMvc
 @ComponentScan("com.game")
 public class WebConfig implements WebMvcConfigurer {
 
+    private final Environment env;
+    private final ObjectProvider<Executor> playerQueryExecutor;
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+
+    public WebConfig(Environment env,
+                     @Qualifier("playerQueryExecutor") ObjectProvider<Executor> playerQueryExecutor,
+                     RequestMetricsInterceptor requestMetricsInterceptor) {
+        this.env = env;
+        this.playerQueryExecutor = playerQueryExecutor;
+        this.requestMetricsInterceptor = requestMetricsInterceptor;
+    }
 
     @Bean
     public ViewResolver internalResourceViewResolver() {
@@ -41,6 +60,22 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/resources/**").addResourceLocations("/resources/");
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/rest/**");
+    }
+
+    /**
+     * In the async mode, Callable and WebAsyncTask handler results run on the same executor
+     * as the async read endpoints, with the same timeout.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        playerQueryExecutor.ifAvailable(executor -> configurer
+                .setTaskExecutor(new TaskExecutorAdapter(executor))
+                .setDefaultTimeout(env.getProperty("player.async.timeout-ms", Long.class, 10_000L)));
+    }
+
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
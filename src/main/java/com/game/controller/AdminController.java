@@ -0,0 +1,76 @@
+package com.game.controller;
+
+import com.game.cache.CacheStatistics;
+import com.game.cache.PlayerCache;
+import com.game.cache.QueryResultCache;
+import com.game.exception.ValidationException;
+import com.game.metrics.PoolMetrics;
+import com.game.metrics.PoolMetricsTrackerFactory;
+import com.game.metrics.QueryShapeMetrics;
+import com.game.metrics.QueryStatistics;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+public class AdminController {
+
+    private final PoolMetricsTrackerFactory poolMetricsTrackerFactory;
+    private final PlayerCache playerCache;
+    private final QueryResultCache queryResultCache;
+    private final PrometheusMeterRegistry meterRegistry;
+    private final QueryStatistics queryStatistics;
+
+    public AdminController(PoolMetricsTrackerFactory poolMetricsTrackerFactory,
+                           PlayerCache playerCache,
+                           QueryResultCache queryResultCache,
+                           PrometheusMeterRegistry meterRegistry,
+                           QueryStatistics queryStatistics) {
+        this.poolMetricsTrackerFactory = poolMetricsTrackerFactory;
+        this.playerCache = playerCache;
+        this.queryResultCache = queryResultCache;
+        this.meterRegistry = meterRegistry;
+        this.queryStatistics = queryStatistics;
+    }
+
+    @GetMapping(value = "/rest/admin/pool")
+    public ResponseEntity<PoolMetrics> poolMetrics() {
+        return poolMetricsTrackerFactory.snapshot()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/rest/admin/caches")
+    public ResponseEntity<List<CacheStatistics>> cacheStatistics() {
+        return ResponseEntity.ok(Arrays.asList(playerCache.statistics(), queryResultCache.statistics()));
+    }
+
+    /**
+     * The query shapes with the highest maximum execution time, slowest first.
+     */
+    @GetMapping(value = "/rest/admin/queries")
+    public ResponseEntity<List<QueryShapeMetrics>> slowestQueries(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            throw new ValidationException("Parameter limit has invalid value");
+        }
+        return ResponseEntity.ok(queryStatistics.slowest(limit));
+    }
+
+    /**
+     * Request metrics in the Prometheus text exposition format. Written to the response directly,
+     * the only message converter is JSON.
+     */
+    @GetMapping(value = "/rest/admin/metrics")
+    public void metrics(HttpServletResponse response) throws IOException {
+        response.setContentType(TextFormat.CONTENT_TYPE_004);
+        meterRegistry.scrape(response.getWriter());
+    }
+}
@@ -0,0 +1,108 @@
+package com.game.controller;
+
+import com.game.config.AsyncQueriesCondition;
+import com.game.controller.response.PlayerFacets;
+import com.game.entity.Player;
+import com.game.metrics.RequestMetrics;
+import com.game.service.PlayerService;
+import com.game.service.PlayerValidationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous variant of {@link PlayerQueryController} (player.async.enabled=true). The queries run
+ * on the bounded playerQueryExecutor, platform or virtual threads, and the container thread is
+ * released right away. When the
+ * executor queue is full, or a query is not answered in time, the response is 503.
+ */
+@RestController
+@Conditional(AsyncQueriesCondition.Enabled.class)
+public class AsyncPlayerQueryController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final PlayerValidationService validationService;
+    private final PlayerService playerService;
+    private final Executor executor;
+    private final long timeoutMs;
+
+    public AsyncPlayerQueryController(PlayerValidationService validationService,
+                                      PlayerService playerService,
+                                      Executor playerQueryExecutor,
+                                      @Value("${player.async.timeout-ms:10000}") long timeoutMs) {
+        this.validationService = validationService;
+        this.playerService = playerService;
+        this.executor = playerQueryExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @GetMapping(value = "/rest/players/{id}")
+    public DeferredResult<ResponseEntity<Player>> findById(@PathVariable Long id) {
+        validationService.validateId(id);
+        return submit(() -> playerService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(value = "/rest/players")
+    public DeferredResult<ResponseEntity<List<Player>>> findAllByParams(@RequestParam Map<String, String> params) {
+        return submit(() -> ResponseEntity.ok(playerService.findAllByParams(params)));
+    }
+
+    @GetMapping(value = "/rest/players/count")
+    public DeferredResult<ResponseEntity<Integer>> countAllByParams(@RequestParam Map<String, String> params) {
+        return submit(() -> ResponseEntity.ok(playerService.countAllByParams(params)));
+    }
+
+    @GetMapping(value = "/rest/players/facets")
+    public DeferredResult<ResponseEntity<PlayerFacets>> findFacetsByParams(@RequestParam Map<String, String> params) {
+        return submit(() -> ResponseEntity.ok(playerService.findFacetsByParams(params)));
+    }
+
+    private <T> DeferredResult<ResponseEntity<T>> submit(Supplier<ResponseEntity<T>> query) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(timeoutMs, unavailable());
+        FutureTask<Void> task = new FutureTask<>(RequestMetrics.propagate(() -> {
+            try {
+                result.setResult(query.get());
+            } catch (RuntimeException e) {
+                // handled by the exception handlers like a synchronous failure
+                result.setErrorResult(e);
+            }
+        }), null);
+        try {
+            executor.execute(task);
+            // a query still waiting in the queue is dropped, a running one finishes unobserved
+            result.onTimeout(() -> {
+                task.cancel(false);
+                if (executor instanceof ThreadPoolTaskExecutor) {
+                    ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor().remove(task);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            result.setResult(unavailable());
+        }
+        return result;
+    }
+
+    private static <T> ResponseEntity<T> unavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
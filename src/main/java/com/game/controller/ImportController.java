@@ -0,0 +1,75 @@
+package com.game.controller;
+
+import com.game.controller.response.ImportStatus;
+import com.game.exception.ValidationException;
+import com.game.service.PlayerImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class ImportController {
+
+    static final String CSV_CONTENT_TYPE = "text/csv";
+
+    private final PlayerImportService importService;
+
+    public ImportController(PlayerImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Imports the request body and answers when it is fully written. The format is taken from
+     * the {@code format} param or else from the content type: {@code text/csv} or NDJSON.
+     */
+    @PostMapping(value = "/rest/players/import", params = "!file")
+    public ResponseEntity<ImportStatus> importBody(@RequestParam(required = false) String format,
+                                                   HttpServletRequest request) throws IOException {
+        PlayerImportService.Format importFormat = format != null
+                ? parseFormat(format)
+                : isCsv(request.getContentType()) ? PlayerImportService.Format.CSV : PlayerImportService.Format.NDJSON;
+        try (InputStream input = request.getInputStream()) {
+            return ResponseEntity.ok(importService.importStream(input, importFormat));
+        }
+    }
+
+    /**
+     * Starts importing a file of the import directory and answers right away; progress is
+     * available from the returned location. The format defaults to the file extension.
+     */
+    @PostMapping(value = "/rest/players/import", params = "file")
+    public ResponseEntity<ImportStatus> importFile(@RequestParam String file,
+                                                   @RequestParam(required = false) String format) {
+        PlayerImportService.Format importFormat = format != null
+                ? parseFormat(format)
+                : file.toLowerCase().endsWith(".csv") ? PlayerImportService.Format.CSV : PlayerImportService.Format.NDJSON;
+        ImportStatus status = importService.startFileImport(file, importFormat);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/rest/players/import/" + status.getId())
+                .body(status);
+    }
+
+    @GetMapping(value = "/rest/players/import/{id}")
+    public ResponseEntity<ImportStatus> findStatus(@PathVariable Long id) {
+        return importService.findStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static PlayerImportService.Format parseFormat(String format) {
+        try {
+            return PlayerImportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Parameter format has invalid value");
+        }
+    }
+
+    private static boolean isCsv(String contentType) {
+        return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV_CONTENT_TYPE));
+    }
+}
@@ -0,0 +1,76 @@
+package com.game.controller;
+
+import com.game.config.LeaderboardCondition;
+import com.game.controller.response.RankedPlayer;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.exception.ValidationException;
+import com.game.index.Leaderboard;
+import com.game.service.PlayerValidationService;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Ranking of the players not banned by experience (player.leaderboard.enabled=true), optionally
+ * among one race and/or profession. Answered from memory, on the container thread.
+ */
+@RestController
+@Conditional(LeaderboardCondition.class)
+public class LeaderboardController {
+
+    private static final int MAX_SIZE = 100;
+    private static final int MAX_RADIUS = 50;
+
+    private final PlayerValidationService validationService;
+    private final Leaderboard leaderboard;
+
+    public LeaderboardController(PlayerValidationService validationService, Leaderboard leaderboard) {
+        this.validationService = validationService;
+        this.leaderboard = leaderboard;
+    }
+
+    @GetMapping(value = "/rest/leaderboard")
+    public ResponseEntity<List<RankedPlayer>> top(@RequestParam(required = false) Race race,
+                                                  @RequestParam(required = false) Profession profession,
+                                                  @RequestParam(defaultValue = "10") int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Parameter size has invalid value");
+        }
+        return ResponseEntity.ok(leaderboard.top(race, profession, size));
+    }
+
+    @GetMapping(value = "/rest/leaderboard/{id}")
+    public ResponseEntity<RankedPlayer> rankOf(@PathVariable Long id,
+                                               @RequestParam(required = false) Race race,
+                                               @RequestParam(required = false) Profession profession) {
+        validationService.validateId(id);
+        return leaderboard.rankOf(id, race, profession)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The player ranked with the id and up to radius players on each side of it.
+     */
+    @GetMapping(value = "/rest/leaderboard/{id}/around")
+    public ResponseEntity<List<RankedPlayer>> around(@PathVariable Long id,
+                                                     @RequestParam(required = false) Race race,
+                                                     @RequestParam(required = false) Profession profession,
+                                                     @RequestParam(defaultValue = "5") int radius) {
+        validationService.validateId(id);
+        if (radius < 0 || radius > MAX_RADIUS) {
+            throw new ValidationException("Parameter radius has invalid value");
+        }
+        List<RankedPlayer> players = leaderboard.around(id, race, profession, radius);
+        if (players.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(players);
+    }
+}
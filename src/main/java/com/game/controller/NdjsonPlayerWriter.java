@@ -0,0 +1,63 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.entity.Player;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes players to the response as newline-delimited JSON. The response is opened on the first
+ * player (or on {@link #finish()}), so a failure before that can still be answered with an error status.
+ * Players are separated by the writer's root value separator, a newline in place of Jackson's
+ * default space, and {@link #finish()} ends the last line.
+ */
+class NdjsonPlayerWriter implements Consumer<Player> {
+
+    static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private JsonGenerator generator;
+    private boolean written;
+
+    NdjsonPlayerWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+        this.response = response;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(Player.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void accept(Player player) {
+        try {
+            writer.writeValue(generator(), player);
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() throws IOException {
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator().flush();
+    }
+
+    private JsonGenerator generator() throws IOException {
+        if (generator == null) {
+            response.setContentType(CONTENT_TYPE);
+            response.setCharacterEncoding("UTF-8");
+            generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        }
+        return generator;
+    }
+}
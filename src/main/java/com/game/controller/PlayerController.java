@@ -1,15 +1,26 @@
 package com.game.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.BulkCreateResult;
+import com.game.controller.response.BulkDeleteResult;
+import com.game.controller.response.PlayerPage;
+import com.game.controller.response.PlayerSlice;
 import com.game.entity.Player;
+import com.game.service.PlayerBulkService;
 import com.game.service.PlayerService;
 import com.game.service.PlayerValidationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 public class PlayerController {
@@ -17,11 +28,17 @@ public class PlayerController {
 
     private final PlayerValidationService validationService;
     private final PlayerService playerService;
+    private final PlayerBulkService bulkService;
+    private final ObjectMapper objectMapper;
 
     public PlayerController(PlayerValidationService validationService,
-                            PlayerService playerService) {
+                            PlayerService playerService,
+                            PlayerBulkService bulkService,
+                            ObjectMapper objectMapper) {
         this.validationService = validationService;
         this.playerService = playerService;
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(value = "/rest/players")
@@ -31,41 +48,58 @@ public class PlayerController {
         return playerService.save(player);
     }
 
+    @PostMapping(value = "/rest/players/bulk")
+    public ResponseEntity<BulkCreateResult> createAndSavePlayers(@RequestBody List<PlayerDTO> createRequests) {
+        BulkCreateResult result = bulkService.createAll(createRequests);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping(value = "/rest/players/{id}")
     public ResponseEntity<?> deleteById(@PathVariable Long id) {
         validationService.validateId(id);
-        Optional<Player> optionalPlayer = playerService.findById(id);
-        if (optionalPlayer.isPresent()) {
-            Player player = optionalPlayer.get();
-            playerService.delete(player.getId());
+        if (playerService.delete(id)) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
     }
 
-    @GetMapping(value = "/rest/players/{id}")
-    public ResponseEntity<Player> findById(@PathVariable Long id) {
-        validationService.validateId(id);
-        Optional<Player> optionalPlayer = playerService.findById(id);
-        if (optionalPlayer.isPresent()) {
-            Player player = optionalPlayer.get();
-            return ResponseEntity
-                    .ok(player);
-        }
+    /**
+     * Deletes the players with the given ids in one statement; unknown ids are skipped.
+     */
+    @DeleteMapping(value = "/rest/players")
+    public ResponseEntity<BulkDeleteResult> deleteAllById(@RequestParam List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.forEach(validationService::validateId);
+        int deleted = playerService.deleteAll(distinctIds);
+        return ResponseEntity.ok(new BulkDeleteResult(distinctIds.size(), deleted));
+    }
 
-        return ResponseEntity.notFound().build();
+    @GetMapping(value = "/rest/players/page")
+    public ResponseEntity<PlayerPage> findPageByParams(@RequestParam Map<String, String> params) {
+        PlayerPage page = playerService.findPageByParams(params);
+        return ResponseEntity.ok(page);
     }
 
-    @GetMapping(value = "/rest/players")
-    public ResponseEntity<List<Player>> findAllByParams(@RequestParam Map<String, String> params) {
-        List<Player> filteredByParamsPlayers = playerService.findAllByParams(params);
-        return ResponseEntity.ok(filteredByParamsPlayers);
+    @GetMapping(value = "/rest/players/seek")
+    public ResponseEntity<PlayerSlice> findSliceByParams(@RequestParam Map<String, String> params) {
+        PlayerSlice slice = playerService.findSliceByParams(params);
+        return ResponseEntity.ok(slice);
     }
 
-    @GetMapping(value = "/rest/players/count")
-    public ResponseEntity<Integer> countAllByParams(@RequestParam Map<String, String> params) {
-        int count = playerService.countAllByParams(params);
-        return ResponseEntity.ok(count);
+    /**
+     * Writes every player matching the filter params as newline-delimited JSON, one player per line.
+     * Paging params are ignored; the rows are streamed and never held in memory all at once.
+     */
+    @GetMapping(value = "/rest/players/export")
+    public void exportAllByParams(@RequestParam Map<String, String> params,
+                                  HttpServletResponse response) throws IOException {
+        NdjsonPlayerWriter writer = new NdjsonPlayerWriter(response, objectMapper);
+        try {
+            playerService.exportAllByParams(params, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
     }
 
     @PostMapping(value = "/rest/players/{id}")
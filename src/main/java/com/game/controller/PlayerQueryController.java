@@ -0,0 +1,65 @@
+package com.game.controller;
+
+import com.game.config.AsyncQueriesCondition;
+import com.game.controller.response.PlayerFacets;
+import com.game.entity.Player;
+import com.game.service.PlayerService;
+import com.game.service.PlayerValidationService;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Player read endpoints served on the container thread, see {@link AsyncPlayerQueryController}
+ * for the asynchronous mode.
+ */
+@RestController
+@Conditional(AsyncQueriesCondition.Disabled.class)
+public class PlayerQueryController {
+
+    private final PlayerValidationService validationService;
+    private final PlayerService playerService;
+
+    public PlayerQueryController(PlayerValidationService validationService, PlayerService playerService) {
+        this.validationService = validationService;
+        this.playerService = playerService;
+    }
+
+    @GetMapping(value = "/rest/players/{id}")
+    public ResponseEntity<Player> findById(@PathVariable Long id) {
+        validationService.validateId(id);
+        Optional<Player> optionalPlayer = playerService.findById(id);
+        if (optionalPlayer.isPresent()) {
+            Player player = optionalPlayer.get();
+            return ResponseEntity
+                    .ok(player);
+        }
+
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/rest/players")
+    public ResponseEntity<List<Player>> findAllByParams(@RequestParam Map<String, String> params) {
+        List<Player> filteredByParamsPlayers = playerService.findAllByParams(params);
+        return ResponseEntity.ok(filteredByParamsPlayers);
+    }
+
+    @GetMapping(value = "/rest/players/count")
+    public ResponseEntity<Integer> countAllByParams(@RequestParam Map<String, String> params) {
+        int count = playerService.countAllByParams(params);
+        return ResponseEntity.ok(count);
+    }
+
+    @GetMapping(value = "/rest/players/facets")
+    public ResponseEntity<PlayerFacets> findFacetsByParams(@RequestParam Map<String, String> params) {
+        PlayerFacets facets = playerService.findFacetsByParams(params);
+        return ResponseEntity.ok(facets);
+    }
+}
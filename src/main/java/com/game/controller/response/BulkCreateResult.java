@@ -0,0 +1,41 @@
+package com.game.controller.response;
+
+import java.util.List;
+
+public class BulkCreateResult {
+
+    private final int requested;
+
+    /**
+     * Ids of the created players in request order.
+     */
+    private final List<Long> ids;
+
+    private final List<BulkItemError> errors;
+
+    public BulkCreateResult(int requested, List<Long> ids, List<BulkItemError> errors) {
+        this.requested = requested;
+        this.ids = ids;
+        this.errors = errors;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getCreated() {
+        return ids.size();
+    }
+
+    public int getFailed() {
+        return errors.size();
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public List<BulkItemError> getErrors() {
+        return errors;
+    }
+}
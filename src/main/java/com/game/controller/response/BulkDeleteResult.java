@@ -0,0 +1,28 @@
+package com.game.controller.response;
+
+public class BulkDeleteResult {
+
+    /**
+     * Number of distinct ids in the request.
+     */
+    private final int requested;
+
+    private final int deleted;
+
+    public BulkDeleteResult(int requested, int deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public int getNotFound() {
+        return requested - deleted;
+    }
+}
@@ -0,0 +1,24 @@
+package com.game.controller.response;
+
+public class BulkItemError {
+
+    /**
+     * Position of the failed item in the request.
+     */
+    private final long index;
+
+    private final String message;
+
+    public BulkItemError(long index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,89 @@
+package com.game.controller.response;
+
+import java.util.List;
+
+/**
+ * Snapshot of the progress of one player import.
+ */
+public class ImportStatus {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final long id;
+    private final String source;
+    private final String format;
+    private final State state;
+    private final long read;
+    private final long created;
+    private final long failed;
+    private final long elapsedMs;
+    private final String message;
+
+    /**
+     * The first failed records; {@link #getFailed()} counts all of them.
+     */
+    private final List<BulkItemError> errors;
+
+    public ImportStatus(long id, String source, String format, State state, long read, long created, long failed,
+                        long elapsedMs, String message, List<BulkItemError> errors) {
+        this.id = id;
+        this.source = source;
+        this.format = format;
+        this.state = state;
+        this.read = read;
+        this.created = created;
+        this.failed = failed;
+        this.elapsedMs = elapsedMs;
+        this.message = message;
+        this.errors = errors;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Records read per second so far.
+     */
+    public long getRowsPerSecond() {
+        return elapsedMs == 0 ? read : read * 1000 / elapsedMs;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<BulkItemError> getErrors() {
+        return errors;
+    }
+}
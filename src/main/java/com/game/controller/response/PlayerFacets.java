@@ -0,0 +1,54 @@
+package com.game.controller.response;
+
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import java.util.Map;
+
+/**
+ * Number of matching players in total, per race, per profession and per level bucket.
+ * Every race and profession is present, with 0 if no player matches; level buckets are keyed
+ * by their lowest level and only present if not empty. A null race, profession or level leaves
+ * the player out of that facet only.
+ */
+public class PlayerFacets {
+
+    private final int total;
+
+    private final Map<Race, Integer> races;
+
+    private final Map<Profession, Integer> professions;
+
+    private final int levelBucket;
+
+    private final Map<Integer, Integer> levels;
+
+    public PlayerFacets(int total, Map<Race, Integer> races, Map<Profession, Integer> professions,
+                        int levelBucket, Map<Integer, Integer> levels) {
+        this.total = total;
+        this.races = races;
+        this.professions = professions;
+        this.levelBucket = levelBucket;
+        this.levels = levels;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<Race, Integer> getRaces() {
+        return races;
+    }
+
+    public Map<Profession, Integer> getProfessions() {
+        return professions;
+    }
+
+    public int getLevelBucket() {
+        return levelBucket;
+    }
+
+    public Map<Integer, Integer> getLevels() {
+        return levels;
+    }
+}
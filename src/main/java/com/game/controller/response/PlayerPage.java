@@ -0,0 +1,25 @@
+package com.game.controller.response;
+
+import com.game.entity.Player;
+
+import java.util.List;
+
+public class PlayerPage {
+
+    private final List<Player> players;
+
+    private final int total;
+
+    public PlayerPage(List<Player> players, int total) {
+        this.players = players;
+        this.total = total;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
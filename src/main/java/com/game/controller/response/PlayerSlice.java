@@ -0,0 +1,28 @@
+package com.game.controller.response;
+
+import com.game.entity.Player;
+
+import java.util.List;
+
+public class PlayerSlice {
+
+    private final List<Player> players;
+
+    /**
+     * Token to pass as {@code cursor} to get the following slice, {@code null} on the last one.
+     */
+    private final String next;
+
+    public PlayerSlice(List<Player> players, String next) {
+        this.players = players;
+        this.next = next;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,23 @@
+package com.game.controller.response;
+
+import com.game.entity.Player;
+
+public class RankedPlayer {
+
+    private final int rank;
+
+    private final Player player;
+
+    public RankedPlayer(int rank, Player player) {
+        this.rank = rank;
+        this.player = player;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+}
@@ -1,10 +1,15 @@
 package com.game.entity;
 
+import com.game.repository.PlayerRepository;
+
 import javax.persistence.*;
 import java.util.Date;
 
 @Entity
 @Table(name = "player")
+@SqlResultSetMapping(name = PlayerRepository.PLAYER_WITH_TOTAL_MAPPING,
+        entities = @EntityResult(entityClass = Player.class),
+        columns = @ColumnResult(name = PlayerRepository.TOTAL_COUNT_COLUMN, type = Long.class))
 public class Player {
 
     @Id
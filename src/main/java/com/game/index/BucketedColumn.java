@@ -0,0 +1,93 @@
+package com.game.index;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An int column of {@link PlayerBitmaps}: one bitmap of slots per bucket of {@code width}
+ * consecutive values, plus the value of every slot. A range is the union of the buckets it
+ * covers completely, and of the slots of the two partly covered buckets whose value is inside it.
+ */
+final class BucketedColumn {
+
+    private final int width;
+    private final TreeMap<Integer, RoaringBitmap> buckets = new TreeMap<>();
+    private final RoaringBitmap present = new RoaringBitmap();
+    private int[] values = new int[1024];
+
+    BucketedColumn(int width) {
+        this.width = width;
+    }
+
+    void set(int slot, int value) {
+        remove(slot);
+        if (slot >= values.length) {
+            values = Arrays.copyOf(values, Math.max(slot + 1, values.length * 2));
+        }
+        values[slot] = value;
+        present.add(slot);
+        buckets.computeIfAbsent(bucket(value), bucket -> new RoaringBitmap()).add(slot);
+    }
+
+    void remove(int slot) {
+        if (!present.checkedRemove(slot)) {
+            return;
+        }
+        int bucket = bucket(values[slot]);
+        RoaringBitmap slots = buckets.get(bucket);
+        slots.remove(slot);
+        if (slots.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+
+    boolean contains(int slot) {
+        return present.contains(slot);
+    }
+
+    int get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Slots whose value is within the inclusive bounds.
+     */
+    RoaringBitmap range(long min, long max) {
+        int low = (int) Math.max(min, Integer.MIN_VALUE);
+        int high = (int) Math.min(max, Integer.MAX_VALUE);
+        if (low > high) {
+            return new RoaringBitmap();
+        }
+        List<RoaringBitmap> covered = new ArrayList<>();
+        RoaringBitmap partial = new RoaringBitmap();
+        for (Map.Entry<Integer, RoaringBitmap> entry : buckets.subMap(bucket(low), true, bucket(high), true).entrySet()) {
+            long first = (long) entry.getKey() * width;
+            long last = first + width - 1;
+            if (first >= low && last <= high) {
+                covered.add(entry.getValue());
+                continue;
+            }
+            IntIterator slots = entry.getValue().getIntIterator();
+            while (slots.hasNext()) {
+                int slot = slots.next();
+                int value = values[slot];
+                if (value >= low && value <= high) {
+                    partial.add(slot);
+                }
+            }
+        }
+        covered.add(partial);
+        return FastAggregation.or(covered.iterator());
+    }
+
+    private int bucket(int value) {
+        return Math.floorDiv(value, width);
+    }
+}
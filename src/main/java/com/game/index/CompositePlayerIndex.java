@@ -0,0 +1,97 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reports every write to all of its indexes; a query is answered by the first index that does.
+ * Passes the end of the context startup on to the indexes that load then.
+ */
+public final class CompositePlayerIndex implements PlayerIndex, SmartInitializingSingleton {
+
+    private final List<PlayerIndex> indexes;
+
+    public CompositePlayerIndex(PlayerIndex... indexes) {
+        this.indexes = Arrays.asList(indexes.clone());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (PlayerIndex index : indexes) {
+            if (index instanceof SmartInitializingSingleton) {
+                ((SmartInitializingSingleton) index).afterSingletonsInstantiated();
+            }
+        }
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        for (PlayerIndex index : indexes) {
+            Optional<List<Player>> players = index.findAll(criteria);
+            if (players.isPresent()) {
+                return players;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        for (PlayerIndex index : indexes) {
+            OptionalInt count = index.count(criteria);
+            if (count.isPresent()) {
+                return count;
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        for (PlayerIndex index : indexes) {
+            Optional<long[]> candidates = index.candidates(criteria);
+            if (candidates.isPresent()) {
+                return candidates;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Player player) {
+        indexes.forEach(index -> index.put(player));
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+        indexes.forEach(index -> index.putAll(players));
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        indexes.forEach(index -> index.update(id, change));
+    }
+
+    @Override
+    public void remove(Long id) {
+        indexes.forEach(index -> index.remove(id));
+    }
+
+    @Override
+    public void removeAll(Collection<Long> ids) {
+        indexes.forEach(index -> index.removeAll(ids));
+    }
+
+    @Override
+    public void invalidate() {
+        indexes.forEach(PlayerIndex::invalidate);
+    }
+}
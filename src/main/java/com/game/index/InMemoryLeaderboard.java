@@ -0,0 +1,41 @@
+package com.game.index;
+
+import com.game.controller.response.RankedPlayer;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link Leaderboard} over a {@link PlayerRanking} read from the player table on startup. As a
+ * {@link PlayerIndex} it takes the application's writes, which keep it current, and answers no
+ * filtered lists or counts.
+ * <p>
+ * A row with a NULL banned or experience cannot be ranked, the player holding false or 0 for it,
+ * and is left out when the table is read.
+ */
+public class InMemoryLeaderboard extends InMemoryPlayerIndex<PlayerRanking> implements Leaderboard {
+
+    public InMemoryLeaderboard(DataSource dataSource) {
+        super(dataSource, PlayerRanking::new, true, new HashSet<>(Arrays.asList("banned", "experience")));
+    }
+
+    @Override
+    public List<RankedPlayer> top(Race race, Profession profession, int count) {
+        return read(ranking -> ranking.top(race, profession, count));
+    }
+
+    @Override
+    public Optional<RankedPlayer> rankOf(Long id, Race race, Profession profession) {
+        return read(ranking -> ranking.rankOf(id, race, profession));
+    }
+
+    @Override
+    public List<RankedPlayer> around(Long id, Race race, Profession profession, int radius) {
+        return read(ranking -> ranking.around(id, race, profession, radius));
+    }
+}
@@ -0,0 +1,291 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link PlayerIndex} over a {@link PlayerStore} filled from the player table. The table is read
+ * on startup or on the first query, and again on the first query after {@link #invalidate()}.
+ * Queries share a read lock and writes take the write lock, the read of the table included, so a
+ * write racing it is applied on top. Writes must come after their commit: those arriving before the
+ * table is read are dropped, the read sees them committed.
+ * <p>
+ * The entity cannot hold a NULL banned, experience or level, which the table allows. Such rows
+ * are stored with false or 0, and until the next read of the table, criteria filtering or ordering
+ * on a column that had a NULL are left to the database, whose comparisons never match NULL. A
+ * store that answers from such columns without criteria can have the rows skipped instead.
+ */
+public class InMemoryPlayerIndex<S extends PlayerStore> implements PlayerIndex, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryPlayerIndex.class);
+
+    private static final String SELECT_ALL_SQL = "SELECT id, name, title, race, profession, birthday, banned, " +
+            "experience, level, untilNextLevel FROM player";
+    private static final int FETCH_SIZE = 1000;
+    private static final int LOAD_CHUNK_SIZE = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Supplier<S> storeFactory;
+    private final boolean loadOnStartup;
+    private final Set<String> requiredColumns;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock, null until the table is read
+    private S store;
+    // guarded by lock, the columns read with a NULL in some row
+    private Set<String> nullColumns = Collections.emptySet();
+
+    /**
+     * @param loadOnStartup read the table once the application context is up instead of on the first query
+     */
+    public InMemoryPlayerIndex(DataSource dataSource, Supplier<S> storeFactory, boolean loadOnStartup) {
+        this(dataSource, storeFactory, loadOnStartup, Collections.emptySet());
+    }
+
+    /**
+     * @param loadOnStartup   read the table once the application context is up instead of on the first query
+     * @param requiredColumns columns whose NULL keeps the row out of the store when the table is read
+     */
+    protected InMemoryPlayerIndex(DataSource dataSource, Supplier<S> storeFactory, boolean loadOnStartup,
+                                  Set<String> requiredColumns) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.storeFactory = storeFactory;
+        this.loadOnStartup = loadOnStartup;
+        this.requiredColumns = requiredColumns;
+    }
+
+    /**
+     * Index over {@link PlayerColumns}, answering lists and counts.
+     */
+    public static InMemoryPlayerIndex<?> columnar(DataSource dataSource) {
+        return new InMemoryPlayerIndex<>(dataSource, PlayerColumns::new, false);
+    }
+
+    /**
+     * Index over {@link PlayerBitmaps}, answering counts without name or title filters.
+     */
+    public static InMemoryPlayerIndex<?> bitmapCounts(DataSource dataSource) {
+        return new InMemoryPlayerIndex<>(dataSource, PlayerBitmaps::new, true);
+    }
+
+    /**
+     * Index over {@link PlayerTexts}, answering only the candidates of name and title filters.
+     *
+     * @param maxCandidates the most candidates a query is narrowed to
+     */
+    public static InMemoryPlayerIndex<?> textCandidates(DataSource dataSource, int maxCandidates) {
+        return new InMemoryPlayerIndex<>(dataSource, () -> new PlayerTexts(maxCandidates), true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (loadOnStartup) {
+            load();
+        }
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        return read(store -> readsNull(criteria) ? Optional.empty() : store.findAll(criteria));
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        return read(store -> readsNull(criteria) ? OptionalInt.empty() : store.count(criteria));
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        return read(store -> store.candidates(criteria));
+    }
+
+    @Override
+    public void put(Player player) {
+        write(store -> store.put(player));
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+        write(store -> store.putAll(players));
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        write(store -> store.update(id, change));
+    }
+
+    @Override
+    public void remove(Long id) {
+        write(store -> store.remove(id));
+    }
+
+    @Override
+    public void removeAll(Collection<Long> ids) {
+        write(store -> ids.forEach(store::remove));
+    }
+
+    @Override
+    public void invalidate() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            store = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the query on the store under the read lock, reading the table first if needed.
+     */
+    <T> T read(Function<? super S, T> query) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            while (store == null) {
+                // a read lock cannot be upgraded
+                readLock.unlock();
+                try {
+                    load();
+                } finally {
+                    readLock.lock();
+                }
+            }
+            return query.apply(store);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Whether the criteria filter or order on a column that has a NULL the store does not know of.
+     */
+    private boolean readsNull(PlayerCriteria criteria) {
+        if (nullColumns.isEmpty()) {
+            return false;
+        }
+        if (nullColumns.contains(criteria.getOrder().getFieldName())) {
+            return true;
+        }
+        for (PlayerFilter filter : criteria.getFilters().keySet()) {
+            if (nullColumns.contains(filter.getColumn())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write(Consumer<? super S> change) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (store != null) {
+                change.accept(store);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the table unless another thread has done it while this one waited for the lock.
+     * A query holding the read lock would see the store fill up, so the load takes the write lock.
+     */
+    private void load() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (store == null) {
+                long start = System.nanoTime();
+                S loaded = storeFactory.get();
+                Set<String> loadedNullColumns = new HashSet<>();
+                Set<String> rowNullColumns = new HashSet<>();
+                int[] skipped = {0};
+                List<Player> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+                jdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) resultSet -> {
+                    rowNullColumns.clear();
+                    Player player = toPlayer(resultSet, rowNullColumns);
+                    loadedNullColumns.addAll(rowNullColumns);
+                    if (!Collections.disjoint(rowNullColumns, requiredColumns)) {
+                        skipped[0]++;
+                        return;
+                    }
+                    chunk.add(player);
+                    if (chunk.size() == LOAD_CHUNK_SIZE) {
+                        loaded.putAll(chunk);
+                        chunk.clear();
+                    }
+                });
+                loaded.putAll(chunk);
+                store = loaded;
+                nullColumns = loadedNullColumns;
+                if (!loadedNullColumns.isEmpty()) {
+                    log.info("Leaving filters and orders on {} to the database, they have NULLs", loadedNullColumns);
+                }
+                if (skipped[0] > 0) {
+                    log.info("Skipped {} players with a NULL in {}", skipped[0], requiredColumns);
+                }
+                log.info("Indexed {} players into {} in {} ms", loaded.size(), loaded.getClass().getSimpleName(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param nullColumns receives the columns read as NULL that the player holds as false or 0
+     */
+    private static Player toPlayer(ResultSet resultSet, Set<String> nullColumns) throws SQLException {
+        Player player = new Player();
+        player.setId(resultSet.getLong("id"));
+        player.setName(resultSet.getString("name"));
+        player.setTitle(resultSet.getString("title"));
+        String race = resultSet.getString("race");
+        player.setRace(race == null ? null : Race.valueOf(race));
+        String profession = resultSet.getString("profession");
+        player.setProfession(profession == null ? null : Profession.valueOf(profession));
+        player.setBirthday(resultSet.getDate("birthday"));
+        player.setBanned(orNull(resultSet.getObject("banned", Boolean.class), false, "banned", nullColumns));
+        player.setExperience(orNull(resultSet.getObject("experience", Integer.class), 0, "experience", nullColumns));
+        player.setLevel(orNull(resultSet.getObject("level", Integer.class), 0, "level", nullColumns));
+        player.setUntilNextLevel(orNull(resultSet.getObject("untilNextLevel", Integer.class), 0, "untilNextLevel",
+                nullColumns));
+        return player;
+    }
+
+    private static <T> T orNull(T value, T substitute, String column, Set<String> nullColumns) {
+        if (value == null) {
+            nullColumns.add(column);
+            return substitute;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,32 @@
+package com.game.index;
+
+import com.game.controller.response.RankedPlayer;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Players ranked by experience, highest first and equal experience by id, among all players or
+ * among those of one race and/or profession (a null race or profession ranks any). Banned players
+ * are not ranked. Ranks start at 1. Every lookup is logarithmic in the number of ranked players.
+ */
+public interface Leaderboard {
+
+    /**
+     * The first count players of the ranking.
+     */
+    List<RankedPlayer> top(Race race, Profession profession, int count);
+
+    /**
+     * Empty if the player is unknown, banned, or not of the race or profession.
+     */
+    Optional<RankedPlayer> rankOf(Long id, Race race, Profession profession);
+
+    /**
+     * The player with up to radius players ranked right before and right after; empty if the
+     * player is not ranked, see {@link #rankOf}.
+     */
+    List<RankedPlayer> around(Long id, Race race, Profession profession, int radius);
+}
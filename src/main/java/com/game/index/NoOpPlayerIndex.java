@@ -0,0 +1,55 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link PlayerIndex} that never answers, used while the index is switched off.
+ */
+public class NoOpPlayerIndex implements PlayerIndex {
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Player player) {
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+    }
+
+    @Override
+    public void remove(Long id) {
+    }
+
+    @Override
+    public void removeAll(Collection<Long> ids) {
+    }
+
+    @Override
+    public void invalidate() {
+    }
+}
@@ -0,0 +1,312 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerFilter;
+import com.game.util.DateUtils;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Filter engine of the in-memory indexes, and on its own the count store of the
+ * {@code player.count-index.enabled} mode. Every player occupies a dense slot, reused once the
+ * player is removed; compressed bitmaps of slots are kept per race, profession and banned value,
+ * and {@link BucketedColumn}s for the birthday, experience and level ranges. A filter is the AND
+ * of the bitmaps of its terms and a count its cardinality. Only ids and the filtered columns are
+ * kept; {@link PlayerColumns} keeps the rest of the row at the same slot.
+ * <p>
+ * Name and title filters cannot be answered; the database counts those. Null values match no
+ * filter. Not thread-safe.
+ */
+final class PlayerBitmaps implements PlayerStore {
+
+    static final long NULL_BIRTHDAY = Long.MIN_VALUE;
+
+    private static final Race[] RACES = Race.values();
+    private static final Profession[] PROFESSIONS = Profession.values();
+
+    private static final int BIRTHDAY_BUCKET_DAYS = 32;
+    private static final int EXPERIENCE_BUCKET = 10_000;
+    private static final int LEVEL_BUCKET = 1;
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap banned = new RoaringBitmap();
+    private final RoaringBitmap notBanned = new RoaringBitmap();
+    private final RoaringBitmap[] byRace = bitmaps(RACES.length);
+    private final RoaringBitmap[] byProfession = bitmaps(PROFESSIONS.length);
+    private final BucketedColumn birthdays = new BucketedColumn(BIRTHDAY_BUCKET_DAYS);
+    private final BucketedColumn experiences = new BucketedColumn(EXPERIENCE_BUCKET);
+    private final BucketedColumn levels = new BucketedColumn(LEVEL_BUCKET);
+    private long[] ids = new long[1024];
+
+    @Override
+    public int size() {
+        return slotsById.size();
+    }
+
+    @Override
+    public void put(Player player) {
+        insert(player);
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+        players.forEach(this::insert);
+    }
+
+    /**
+     * The change is applied to a player holding only the indexed columns; that is all it needs
+     * to touch, since the other columns are not kept.
+     */
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        Integer slot = slotsById.get(id);
+        if (slot != null) {
+            insert(change.apply(toPlayer(slot)));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            clear(slot);
+            all.remove(slot);
+        }
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        List<RoaringBitmap> terms = terms(criteria);
+        return terms == null ? OptionalInt.empty() : OptionalInt.of(cardinalityOfAnd(terms));
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the player or replaces the row with the same id, which keeps its slot.
+     *
+     * @return the slot of the player
+     */
+    int insert(Player player) {
+        Integer slot = slotsById.get(player.getId());
+        if (slot == null) {
+            slot = (int) all.nextAbsentValue(0);
+            all.add(slot);
+            slotsById.put(player.getId(), slot);
+            if (slot >= ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(slot + 1, ids.length * 2));
+            }
+            ids[slot] = player.getId();
+        } else {
+            clear(slot);
+        }
+        (player.isBanned() ? banned : notBanned).add(slot);
+        if (player.getRace() != null) {
+            byRace[player.getRace().ordinal()].add(slot);
+        }
+        if (player.getProfession() != null) {
+            byProfession[player.getProfession().ordinal()].add(slot);
+        }
+        if (player.getBirthday() != null) {
+            birthdays.set(slot, (int) DateUtils.toLocalDate(player.getBirthday().getTime()).toEpochDay());
+        }
+        experiences.set(slot, player.getExperience());
+        levels.set(slot, player.getLevel());
+        return slot;
+    }
+
+    /**
+     * The slot of the player, null if there is no such player.
+     */
+    Integer slotOf(Long id) {
+        return slotsById.get(id);
+    }
+
+    /**
+     * Slots of the players matching the filters, or null for filters that cannot be answered.
+     * The bitmap may be one the engine keeps, so it must only be read.
+     */
+    RoaringBitmap match(PlayerCriteria criteria) {
+        List<RoaringBitmap> terms = terms(criteria);
+        if (terms == null) {
+            return null;
+        }
+        switch (terms.size()) {
+            case 0:
+                return all;
+            case 1:
+                return terms.get(0);
+            default:
+                return FastAggregation.and(terms.iterator());
+        }
+    }
+
+    long idAt(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Epoch day of the birthday, {@link #NULL_BIRTHDAY} if there is none.
+     */
+    long birthdayAt(int slot) {
+        return birthdays.contains(slot) ? birthdays.get(slot) : NULL_BIRTHDAY;
+    }
+
+    int experienceAt(int slot) {
+        return experiences.get(slot);
+    }
+
+    int levelAt(int slot) {
+        return levels.get(slot);
+    }
+
+    /**
+     * A player holding the id and the indexed columns of the slot.
+     */
+    Player toPlayer(int slot) {
+        Player player = new Player();
+        player.setId(ids[slot]);
+        for (Race race : RACES) {
+            if (byRace[race.ordinal()].contains(slot)) {
+                player.setRace(race);
+            }
+        }
+        for (Profession profession : PROFESSIONS) {
+            if (byProfession[profession.ordinal()].contains(slot)) {
+                player.setProfession(profession);
+            }
+        }
+        if (birthdays.contains(slot)) {
+            // what Hibernate returns for a DATE column
+            player.setBirthday(java.sql.Date.valueOf(LocalDate.ofEpochDay(birthdays.get(slot))));
+        }
+        player.setBanned(banned.contains(slot));
+        player.setExperience(experiences.get(slot));
+        player.setLevel(levels.get(slot));
+        return player;
+    }
+
+    /**
+     * The bitmaps to intersect for the filters, null if there is a text filter.
+     */
+    private List<RoaringBitmap> terms(PlayerCriteria criteria) {
+        List<RoaringBitmap> terms = new ArrayList<>();
+        long minBirthday = Long.MIN_VALUE;
+        long maxBirthday = Long.MAX_VALUE;
+        long minExperience = Long.MIN_VALUE;
+        long maxExperience = Long.MAX_VALUE;
+        long minLevel = Long.MIN_VALUE;
+        long maxLevel = Long.MAX_VALUE;
+
+        for (Map.Entry<PlayerFilter, Object> entry : criteria.getFilters().entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case NAME:
+                case TITLE:
+                    return null;
+                case RACE:
+                    terms.add(byRace[((Race) value).ordinal()]);
+                    break;
+                case PROFESSION:
+                    terms.add(byProfession[((Profession) value).ordinal()]);
+                    break;
+                case BANNED:
+                    terms.add((Boolean) value ? banned : notBanned);
+                    break;
+                case AFTER:
+                    minBirthday = ((LocalDate) value).toEpochDay();
+                    break;
+                case BEFORE:
+                    maxBirthday = ((LocalDate) value).toEpochDay();
+                    break;
+                case MIN_EXPERIENCE:
+                    minExperience = (Integer) value;
+                    break;
+                case MAX_EXPERIENCE:
+                    maxExperience = (Integer) value;
+                    break;
+                case MIN_LEVEL:
+                    minLevel = (Integer) value;
+                    break;
+                case MAX_LEVEL:
+                    maxLevel = (Integer) value;
+                    break;
+            }
+        }
+        Map<PlayerFilter, Object> filters = criteria.getFilters();
+        if (filters.containsKey(PlayerFilter.AFTER) || filters.containsKey(PlayerFilter.BEFORE)) {
+            terms.add(birthdays.range(minBirthday, maxBirthday));
+        }
+        if (filters.containsKey(PlayerFilter.MIN_EXPERIENCE) || filters.containsKey(PlayerFilter.MAX_EXPERIENCE)) {
+            terms.add(experiences.range(minExperience, maxExperience));
+        }
+        if (filters.containsKey(PlayerFilter.MIN_LEVEL) || filters.containsKey(PlayerFilter.MAX_LEVEL)) {
+            terms.add(levels.range(minLevel, maxLevel));
+        }
+        return terms;
+    }
+
+    private int cardinalityOfAnd(List<RoaringBitmap> terms) {
+        switch (terms.size()) {
+            case 0:
+                return all.getCardinality();
+            case 1:
+                return terms.get(0).getCardinality();
+            default:
+                // only the last intersection is counted without building it
+                RoaringBitmap intersection = terms.get(0);
+                for (int i = 1; i < terms.size() - 1; i++) {
+                    intersection = RoaringBitmap.and(intersection, terms.get(i));
+                }
+                return RoaringBitmap.andCardinality(intersection, terms.get(terms.size() - 1));
+        }
+    }
+
+    /**
+     * Takes the slot out of every bitmap and column, but not out of the used slots.
+     */
+    private void clear(int slot) {
+        banned.remove(slot);
+        notBanned.remove(slot);
+        for (RoaringBitmap slots : byRace) {
+            slots.remove(slot);
+        }
+        for (RoaringBitmap slots : byProfession) {
+            slots.remove(slot);
+        }
+        birthdays.remove(slot);
+        experiences.remove(slot);
+        levels.remove(slot);
+    }
+
+    private static RoaringBitmap[] bitmaps(int count) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+}
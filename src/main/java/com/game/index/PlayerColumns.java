@@ -0,0 +1,217 @@
+package com.game.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Row store for the {@code player.index.enabled} mode. Filters and counts are left to a
+ * {@link PlayerBitmaps}, whose slot of a player is also the position of the player's other
+ * columns in the arrays kept here. Pages walk a {@link SlotOrder} sorted by the requested column
+ * and only turn the rows they return into {@link Player}s. Null values match no filter and sort
+ * first. Name and title filters and the name order are not answered: how text compares is up to
+ * the database collation, case-insensitive with MySQL's default one.
+ * Not thread-safe.
+ */
+final class PlayerColumns implements PlayerStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // below one match in SPARSE_RATIO rows a page sorts the matches instead of walking the order
+    private static final int SPARSE_RATIO = 64;
+
+    private final PlayerBitmaps bitmaps = new PlayerBitmaps();
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] untilNextLevels = new int[INITIAL_CAPACITY];
+
+    private final SlotOrder byId = new SlotOrder((left, right) -> Long.compare(bitmaps.idAt(left), bitmaps.idAt(right)));
+    private final SlotOrder byBirthday = new SlotOrder((left, right) ->
+            compare(bitmaps.birthdayAt(left), bitmaps.birthdayAt(right), left, right));
+    private final SlotOrder byExperience = new SlotOrder((left, right) ->
+            compare(bitmaps.experienceAt(left), bitmaps.experienceAt(right), left, right));
+    private final SlotOrder byLevel = new SlotOrder((left, right) ->
+            compare(bitmaps.levelAt(left), bitmaps.levelAt(right), left, right));
+    private final SlotOrder[] orders = {byId, byBirthday, byExperience, byLevel};
+
+    @Override
+    public int size() {
+        return bitmaps.size();
+    }
+
+    @Override
+    public void put(Player player) {
+        Integer previous = bitmaps.slotOf(player.getId());
+        if (previous != null) {
+            unorder(previous);
+        }
+        int slot = write(player);
+        for (SlotOrder order : orders) {
+            order.add(slot);
+        }
+    }
+
+    /**
+     * The new rows are merged into the orders at once.
+     */
+    @Override
+    public void putAll(Collection<Player> players) {
+        int[] added = new int[players.size()];
+        int count = 0;
+        for (Player player : players) {
+            if (bitmaps.slotOf(player.getId()) != null) {
+                put(player);
+            } else {
+                added[count++] = write(player);
+            }
+        }
+        for (SlotOrder order : orders) {
+            order.addAll(added, count);
+        }
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        Integer slot = bitmaps.slotOf(id);
+        if (slot != null) {
+            put(change.apply(toPlayer(slot)));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        Integer slot = bitmaps.slotOf(id);
+        if (slot != null) {
+            unorder(slot);
+            bitmaps.remove(id);
+            names[slot] = null;
+            titles[slot] = null;
+        }
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        return bitmaps.count(criteria);
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        if (criteria.getOrder() == PlayerOrder.NAME) {
+            return Optional.empty();
+        }
+        RoaringBitmap matches = bitmaps.match(criteria);
+        return matches == null ? Optional.empty() : Optional.of(page(matches, criteria));
+    }
+
+    private List<Player> page(RoaringBitmap matches, PlayerCriteria criteria) {
+        int matched = matches.getCardinality();
+        int offset = criteria.getOffset();
+        if (matched <= offset) {
+            return Collections.emptyList();
+        }
+        SlotOrder order = orderOf(criteria.getOrder());
+        int pageSize = Math.min(criteria.getPageSize(), matched - offset);
+        List<Player> page = new ArrayList<>(pageSize);
+
+        if (matched < order.size() / SPARSE_RATIO) {
+            int[] positions = new int[matched];
+            int i = 0;
+            IntIterator slots = matches.getIntIterator();
+            while (slots.hasNext()) {
+                positions[i++] = order.positionOf(slots.next());
+            }
+            Arrays.sort(positions);
+            for (i = offset; i < offset + pageSize; i++) {
+                page.add(toPlayer(order.slotAt(positions[i])));
+            }
+            return page;
+        }
+
+        int skip = offset;
+        for (int position = 0; page.size() < pageSize; position++) {
+            int slot = order.slotAt(position);
+            if (!matches.contains(slot)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(toPlayer(slot));
+            }
+        }
+        return page;
+    }
+
+    private SlotOrder orderOf(PlayerOrder order) {
+        switch (order) {
+            case BIRTHDAY:
+                return byBirthday;
+            case EXPERIENCE:
+                return byExperience;
+            case LEVEL:
+                return byLevel;
+            default:
+                return byId;
+        }
+    }
+
+    /**
+     * Writes the row, and returns its slot; the slot is not in the orders.
+     */
+    private int write(Player player) {
+        int slot = bitmaps.insert(player);
+        ensureCapacity(slot + 1);
+        names[slot] = player.getName();
+        titles[slot] = player.getTitle();
+        untilNextLevels[slot] = player.getUntilNextLevel();
+        return slot;
+    }
+
+    private Player toPlayer(int slot) {
+        Player player = bitmaps.toPlayer(slot);
+        player.setName(names[slot]);
+        player.setTitle(titles[slot]);
+        player.setUntilNextLevel(untilNextLevels[slot]);
+        return player;
+    }
+
+    /**
+     * Takes the slot out of the orders while the bitmaps still hold the values it was added with.
+     */
+    private void unorder(int slot) {
+        for (SlotOrder order : orders) {
+            order.remove(slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= names.length) {
+            return;
+        }
+        int length = Math.max(capacity, names.length * 2);
+        names = Arrays.copyOf(names, length);
+        titles = Arrays.copyOf(titles, length);
+        untilNextLevels = Arrays.copyOf(untilNextLevels, length);
+    }
+
+    private int compare(long left, long right, int leftSlot, int rightSlot) {
+        int comparison = Long.compare(left, right);
+        return comparison != 0 ? comparison : Long.compare(bitmaps.idAt(leftSlot), bitmaps.idAt(rightSlot));
+    }
+}
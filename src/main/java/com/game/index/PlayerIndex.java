@@ -0,0 +1,58 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process read model of the player table answering filtered lists and counts.
+ * It only sees writes made through the application, which reports every change to it once committed.
+ * Returned players are new instances on every call.
+ */
+public interface PlayerIndex {
+
+    /**
+     * The page selected by the criteria, or empty if the index does not answer and the
+     * database has to be queried.
+     */
+    Optional<List<Player>> findAll(PlayerCriteria criteria);
+
+    /**
+     * Number of players matching the criteria filters, or empty if the database has to be queried.
+     */
+    OptionalInt count(PlayerCriteria criteria);
+
+    /**
+     * Ascending ids of a superset of the players matching the criteria filters, for the database
+     * to check the filters on, or empty if the index cannot narrow the filters.
+     */
+    Optional<long[]> candidates(PlayerCriteria criteria);
+
+    /**
+     * Adds a saved player or replaces the row with the same id.
+     */
+    void put(Player player);
+
+    void putAll(Collection<Player> players);
+
+    /**
+     * Replaces the player with the result of the change, which must return a new instance.
+     * Does nothing if there is no such player.
+     */
+    void update(Long id, UnaryOperator<Player> change);
+
+    void remove(Long id);
+
+    void removeAll(Collection<Long> ids);
+
+    /**
+     * Drops the indexed rows; they are read from the database again by the next query.
+     * For writes the index may have missed, such as a failed commit.
+     */
+    void invalidate();
+}
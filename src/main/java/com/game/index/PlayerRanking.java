@@ -0,0 +1,159 @@
+package com.game.index;
+
+import com.game.controller.response.RankedPlayer;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Store of a {@link Leaderboard}: one {@link RankedSkipList} of the players not banned for every
+ * combination of any or one race and any or one profession, so that each filter is a single
+ * list lookup. A player is in four lists, or fewer if its race or profession is null.
+ * Filtered lists and counts are not answered. Not thread-safe.
+ */
+final class PlayerRanking implements PlayerStore {
+
+    private static final Race[] RACES = Race.values();
+    private static final Profession[] PROFESSIONS = Profession.values();
+
+    private static final Comparator<Player> BY_EXPERIENCE = Comparator.comparingInt(Player::getExperience).reversed()
+            .thenComparing(Player::getId);
+
+    private final Map<Long, Player> players = new HashMap<>();
+    // indexed by (race ordinal + 1) * (professions + 1) + profession ordinal + 1, 0 standing for any
+    private final List<RankedSkipList<Player>> rankings = new ArrayList<>();
+
+    PlayerRanking() {
+        for (int i = 0; i < (RACES.length + 1) * (PROFESSIONS.length + 1); i++) {
+            rankings.add(new RankedSkipList<>(BY_EXPERIENCE));
+        }
+    }
+
+    @Override
+    public int size() {
+        return players.size();
+    }
+
+    @Override
+    public void put(Player player) {
+        remove(player.getId());
+        Player copy = copy(player);
+        players.put(copy.getId(), copy);
+        if (!copy.isBanned()) {
+            rankingsOf(copy).forEach(ranking -> ranking.add(copy));
+        }
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+        players.forEach(this::put);
+    }
+
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        Player player = players.get(id);
+        if (player != null) {
+            put(change.apply(player));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        Player player = players.remove(id);
+        if (player != null && !player.isBanned()) {
+            rankingsOf(player).forEach(ranking -> ranking.remove(player));
+        }
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    List<RankedPlayer> top(Race race, Profession profession, int count) {
+        return ranked(ranking(race, profession), 0, count);
+    }
+
+    Optional<RankedPlayer> rankOf(Long id, Race race, Profession profession) {
+        Player player = players.get(id);
+        int position = player == null ? -1 : ranking(race, profession).positionOf(player);
+        return position < 0 ? Optional.empty() : Optional.of(new RankedPlayer(position + 1, copy(player)));
+    }
+
+    List<RankedPlayer> around(Long id, Race race, Profession profession, int radius) {
+        Player player = players.get(id);
+        RankedSkipList<Player> ranking = ranking(race, profession);
+        int position = player == null ? -1 : ranking.positionOf(player);
+        if (position < 0) {
+            return new ArrayList<>();
+        }
+        int from = Math.max(0, position - radius);
+        return ranked(ranking, from, position + radius + 1 - from);
+    }
+
+    private static List<RankedPlayer> ranked(RankedSkipList<Player> ranking, int from, int count) {
+        List<RankedPlayer> ranked = new ArrayList<>();
+        for (Player player : ranking.range(from, count)) {
+            ranked.add(new RankedPlayer(from + ranked.size() + 1, copy(player)));
+        }
+        return ranked;
+    }
+
+    private List<RankedSkipList<Player>> rankingsOf(Player player) {
+        List<RankedSkipList<Player>> of = new ArrayList<>(4);
+        of.add(ranking(null, null));
+        if (player.getRace() != null) {
+            of.add(ranking(player.getRace(), null));
+        }
+        if (player.getProfession() != null) {
+            of.add(ranking(null, player.getProfession()));
+        }
+        if (player.getRace() != null && player.getProfession() != null) {
+            of.add(ranking(player.getRace(), player.getProfession()));
+        }
+        return of;
+    }
+
+    private RankedSkipList<Player> ranking(Race race, Profession profession) {
+        int raceIndex = race == null ? 0 : race.ordinal() + 1;
+        int professionIndex = profession == null ? 0 : profession.ordinal() + 1;
+        return rankings.get(raceIndex * (PROFESSIONS.length + 1) + professionIndex);
+    }
+
+    private static Player copy(Player player) {
+        Player copy = new Player();
+        copy.setId(player.getId());
+        copy.setName(player.getName());
+        copy.setTitle(player.getTitle());
+        copy.setRace(player.getRace());
+        copy.setProfession(player.getProfession());
+        copy.setBirthday(player.getBirthday() == null ? null : (Date) player.getBirthday().clone());
+        copy.setBanned(player.isBanned());
+        copy.setExperience(player.getExperience());
+        copy.setLevel(player.getLevel());
+        copy.setUntilNextLevel(player.getUntilNextLevel());
+        return copy;
+    }
+}
@@ -0,0 +1,45 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Data structure behind an {@link InMemoryPlayerIndex}, which loads it and guards it with a lock.
+ * Queries return empty for criteria the structure cannot answer. Not thread-safe.
+ */
+interface PlayerStore {
+
+    Optional<List<Player>> findAll(PlayerCriteria criteria);
+
+    OptionalInt count(PlayerCriteria criteria);
+
+    /**
+     * See {@link PlayerIndex#candidates(PlayerCriteria)}.
+     */
+    Optional<long[]> candidates(PlayerCriteria criteria);
+
+    /**
+     * Adds the player or replaces the row with the same id.
+     */
+    void put(Player player);
+
+    /**
+     * Same as {@link #put} for every player; the ids must be distinct.
+     */
+    void putAll(Collection<Player> players);
+
+    /**
+     * Replaces the row with the result of the change; does nothing if there is no such row.
+     */
+    void update(Long id, UnaryOperator<Player> change);
+
+    void remove(Long id);
+
+    int size();
+}
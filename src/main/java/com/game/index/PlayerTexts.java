@@ -0,0 +1,143 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerFilter;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.UnaryOperator;
+
+/**
+ * Store of the {@code player.text-index.enabled} mode: a {@link TrigramIndex} of the names and
+ * one of the titles, over dense slots reused once the player is removed. It answers no lists or
+ * counts, only the {@link #candidates} a name or title filter narrows the table to; the database
+ * still checks the filters on them. Not thread-safe.
+ */
+final class PlayerTexts implements PlayerStore {
+
+    private final int maxCandidates;
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final TrigramIndex byName = new TrigramIndex();
+    private final TrigramIndex byTitle = new TrigramIndex();
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] titles = new String[1024];
+
+    /**
+     * @param maxCandidates the most ids {@link #candidates} returns; beyond them the filters are
+     *                      cheaper to check on the whole table
+     */
+    PlayerTexts(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public int size() {
+        return slotsById.size();
+    }
+
+    @Override
+    public Optional<List<Player>> findAll(PlayerCriteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public OptionalInt count(PlayerCriteria criteria) {
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<long[]> candidates(PlayerCriteria criteria) {
+        Map<PlayerFilter, Object> filters = criteria.getFilters();
+        RoaringBitmap names = candidates(byName, filters.get(PlayerFilter.NAME));
+        RoaringBitmap titles = candidates(byTitle, filters.get(PlayerFilter.TITLE));
+        RoaringBitmap slots = names == null ? titles : titles == null ? names : RoaringBitmap.and(names, titles);
+        if (slots == null || slots.getCardinality() > maxCandidates) {
+            return Optional.empty();
+        }
+        long[] candidates = new long[slots.getCardinality()];
+        int i = 0;
+        IntIterator iterator = slots.getIntIterator();
+        while (iterator.hasNext()) {
+            candidates[i++] = ids[iterator.next()];
+        }
+        Arrays.sort(candidates);
+        return Optional.of(candidates);
+    }
+
+    @Override
+    public void put(Player player) {
+        Integer slot = slotsById.get(player.getId());
+        if (slot == null) {
+            slot = (int) all.nextAbsentValue(0);
+            all.add(slot);
+            slotsById.put(player.getId(), slot);
+            if (slot >= ids.length) {
+                int length = Math.max(slot + 1, ids.length * 2);
+                ids = Arrays.copyOf(ids, length);
+                names = Arrays.copyOf(names, length);
+                titles = Arrays.copyOf(titles, length);
+            }
+            ids[slot] = player.getId();
+        } else {
+            clear(slot);
+        }
+        names[slot] = player.getName();
+        titles[slot] = player.getTitle();
+        byName.add(slot, TrigramIndex.fold(player.getName()));
+        byTitle.add(slot, TrigramIndex.fold(player.getTitle()));
+    }
+
+    @Override
+    public void putAll(Collection<Player> players) {
+        players.forEach(this::put);
+    }
+
+    /**
+     * The change is applied to a player holding only the id, name and title; that is all it needs
+     * to touch, since the other columns are not kept.
+     */
+    @Override
+    public void update(Long id, UnaryOperator<Player> change) {
+        Integer slot = slotsById.get(id);
+        if (slot != null) {
+            Player player = new Player();
+            player.setId(id);
+            player.setName(names[slot]);
+            player.setTitle(titles[slot]);
+            put(change.apply(player));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            clear(slot);
+            all.remove(slot);
+        }
+    }
+
+    /**
+     * Slots that may match the text filter, null if there is none or it does not narrow.
+     */
+    private static RoaringBitmap candidates(TrigramIndex index, Object part) {
+        return part == null ? null : index.candidates(TrigramIndex.fold((String) part));
+    }
+
+    private void clear(int slot) {
+        byName.remove(slot, TrigramIndex.fold(names[slot]));
+        byTitle.remove(slot, TrigramIndex.fold(titles[slot]));
+        names[slot] = null;
+        titles[slot] = null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.game.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Skip list that also counts the elements each link skips, so that the position of an element
+ * and the element at a position are found in expected O(log n), like insertion and removal.
+ * The order must be total: no two elements compare as equal.
+ */
+final class RankedSkipList<E> {
+
+    // 4^16 elements before the top level fills up
+    private static final int MAX_LEVEL = 16;
+    private static final int LEVEL_RATIO = 4;
+
+    private final Comparator<? super E> order;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private final Random random = new Random(7);
+    private int level = 1;
+    private int size;
+
+    RankedSkipList(Comparator<? super E> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(E element) {
+        Node<E>[] previous = Node.newNodes(MAX_LEVEL);
+        int[] position = new int[MAX_LEVEL];
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            position[i] = i == level - 1 ? 0 : position[i + 1];
+            while (node.next[i] != null && order.compare(node.next[i].element, element) < 0) {
+                position[i] += node.span[i];
+                node = node.next[i];
+            }
+            previous[i] = node;
+        }
+
+        int levels = randomLevel();
+        if (levels > level) {
+            for (int i = level; i < levels; i++) {
+                position[i] = 0;
+                previous[i] = head;
+                head.span[i] = size;
+            }
+            level = levels;
+        }
+        Node<E> added = new Node<>(element, levels);
+        for (int i = 0; i < levels; i++) {
+            added.next[i] = previous[i].next[i];
+            previous[i].next[i] = added;
+            added.span[i] = previous[i].span[i] - (position[0] - position[i]);
+            previous[i].span[i] = position[0] - position[i] + 1;
+        }
+        // the links above the new node now skip it too
+        for (int i = levels; i < level; i++) {
+            previous[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * @return false if there is no such element
+     */
+    boolean remove(E element) {
+        Node<E>[] previous = Node.newNodes(MAX_LEVEL);
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && order.compare(node.next[i].element, element) < 0) {
+                node = node.next[i];
+            }
+            previous[i] = node;
+        }
+        Node<E> removed = node.next[0];
+        if (removed == null || order.compare(removed.element, element) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (previous[i].next[i] == removed) {
+                previous[i].span[i] += removed.span[i] - 1;
+                previous[i].next[i] = removed.next[i];
+            } else {
+                previous[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the zero-based position of the element, or -1 if it is not in the list
+     */
+    int positionOf(E element) {
+        int traversed = 0;
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && order.compare(node.next[i].element, element) <= 0) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (node != head && order.compare(node.element, element) == 0) {
+                return traversed - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * At most count elements in order, starting at the zero-based position.
+     */
+    List<E> range(int from, int count) {
+        List<E> elements = new ArrayList<>(Math.max(0, Math.min(count, size - from)));
+        for (Node<E> node = nodeAt(from); node != null && elements.size() < count; node = node.next[0]) {
+            elements.add(node.element);
+        }
+        return elements;
+    }
+
+    private Node<E> nodeAt(int position) {
+        if (position < 0 || position >= size) {
+            return null;
+        }
+        int target = position + 1;
+        int traversed = 0;
+        Node<E> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= target) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == target) {
+                return node;
+            }
+        }
+        throw new IllegalStateException("Position " + position + " not found in " + size + " elements");
+    }
+
+    private int randomLevel() {
+        int levels = 1;
+        while (levels < MAX_LEVEL && random.nextInt(LEVEL_RATIO) == 0) {
+            levels++;
+        }
+        return levels;
+    }
+
+    private static final class Node<E> {
+
+        private final E element;
+        private final Node<E>[] next;
+        // number of bottom level links each next link skips, counted to the end for the last one
+        private final int[] span;
+
+        private Node(E element, int levels) {
+            this.element = element;
+            this.next = newNodes(levels);
+            this.span = new int[levels];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E> Node<E>[] newNodes(int levels) {
+            return (Node<E>[]) new Node<?>[levels];
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.game.index;
+
+import java.util.Arrays;
+
+/**
+ * Slots of a {@link PlayerColumns} kept sorted by one column, with id as a tiebreaker so that
+ * the order is total. Serves ordered pages. Insertion and removal shift the array, which is a
+ * single memory move.
+ */
+final class SlotOrder {
+
+    /**
+     * Compares two slots by the values the columns currently hold for them.
+     */
+    @FunctionalInterface
+    interface SlotComparator {
+        int compare(int left, int right);
+    }
+
+    private final SlotComparator comparator;
+    private int[] slots = new int[16];
+    private int size;
+
+    SlotOrder(SlotComparator comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slotAt(int position) {
+        return slots[position];
+    }
+
+    /**
+     * Adds a slot; its column values must already be written.
+     */
+    void add(int slot) {
+        int position = -(search(slot) + 1);
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        System.arraycopy(slots, position, slots, position + 1, size - position);
+        slots[position] = slot;
+        size++;
+    }
+
+    /**
+     * Adds the first {@code count} slots of the array with one sort and one merge, instead of
+     * shifting the order once per slot; their column values must already be written.
+     */
+    void addAll(int[] added, int count) {
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = added[i];
+        }
+        Arrays.sort(sorted, comparator::compare);
+
+        int[] merged = new int[Math.max(slots.length, size + count)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < count) {
+            merged[k++] = comparator.compare(slots[i], sorted[j]) < 0 ? slots[i++] : sorted[j++];
+        }
+        while (i < size) {
+            merged[k++] = slots[i++];
+        }
+        while (j < count) {
+            merged[k++] = sorted[j++];
+        }
+        slots = merged;
+        size = k;
+    }
+
+    /**
+     * Removes a slot; its column values must still be the ones it was added with.
+     */
+    void remove(int slot) {
+        int position = positionOf(slot);
+        System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+        size--;
+    }
+
+    int positionOf(int slot) {
+        int position = search(slot);
+        if (position < 0) {
+            throw new IllegalStateException("Slot " + slot + " is not in the order");
+        }
+        return position;
+    }
+
+    private int search(int slot) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = comparator.compare(slots[middle], slot);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,134 @@
+package com.game.index;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slots of a text column by each three-character substring of their folded value. A value
+ * containing a search string contains all of its trigrams, so the AND of their posting lists
+ * narrows a substring search to a superset of the matches, which the database then checks.
+ * <p>
+ * Values are folded the way a case- and accent-insensitive collation compares them: decomposed,
+ * stripped of combining marks and lower-cased. A character left outside of printable ASCII and
+ * the basic Cyrillic letters may compare equal to others in ways the folding does not know, such
+ * as {@code ß} and {@code s} in MySQL's {@code utf8mb4_general_ci}. Values with one are
+ * candidates of every search, and trigrams with one do not narrow a search.
+ */
+final class TrigramIndex {
+
+    static final int LENGTH = 3;
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private final RoaringBitmap irregular = new RoaringBitmap();
+
+    /**
+     * @param folded the value passed through {@link #fold(String)}, null for none
+     */
+    void add(int slot, String folded) {
+        if (folded == null) {
+            return;
+        }
+        if (!isRegular(folded)) {
+            irregular.add(slot);
+            return;
+        }
+        for (int i = 0; i + LENGTH <= folded.length(); i++) {
+            postings.computeIfAbsent(trigram(folded, i), trigram -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    /**
+     * @param folded the value the slot was added with
+     */
+    void remove(int slot, String folded) {
+        if (folded == null) {
+            return;
+        }
+        if (!isRegular(folded)) {
+            irregular.remove(slot);
+            return;
+        }
+        for (int i = 0; i + LENGTH <= folded.length(); i++) {
+            Long trigram = trigram(folded, i);
+            RoaringBitmap slots = postings.get(trigram);
+            // a trigram repeated in the value is already gone
+            if (slots != null) {
+                slots.remove(slot);
+                if (slots.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slots whose value may contain the part, or null if the part has no regular trigram and
+     * every value has to be checked.
+     *
+     * @param folded the search string passed through {@link #fold(String)}
+     */
+    RoaringBitmap candidates(String folded) {
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (int i = 0; i + LENGTH <= folded.length(); i++) {
+            if (!isRegular(folded, i, i + LENGTH)) {
+                continue;
+            }
+            RoaringBitmap slots = postings.get(trigram(folded, i));
+            if (slots == null) {
+                return irregular.clone();
+            }
+            lists.add(slots);
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        // the rarest trigram first keeps the intermediate results small
+        lists.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap matches = lists.size() == 1 ? lists.get(0).clone() : FastAggregation.and(lists.iterator());
+        matches.or(irregular);
+        return matches;
+    }
+
+    static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            folded.append(Character.toLowerCase(Character.toUpperCase(c)));
+        }
+        return folded.toString();
+    }
+
+    private static boolean isRegular(String folded) {
+        return isRegular(folded, 0, folded.length());
+    }
+
+    private static boolean isRegular(String folded, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = folded.charAt(i);
+            if ((c < ' ' || c > '~') && (c < 'а' || c > 'я')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long trigram(String value, int from) {
+        return (long) value.charAt(from) << 32 | (long) value.charAt(from + 1) << 16 | value.charAt(from + 2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.game.metrics;
+
+public class PoolMetrics {
+
+    private String poolName;
+
+    private int active;
+
+    private int idle;
+
+    private int total;
+
+    private int waiting;
+
+    private int maxSize;
+
+    private long acquireCount;
+
+    private long acquireTimeouts;
+
+    private long acquireMeanMicros;
+
+    private long acquireMaxMicros;
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public void setAcquireCount(long acquireCount) {
+        this.acquireCount = acquireCount;
+    }
+
+    public long getAcquireTimeouts() {
+        return acquireTimeouts;
+    }
+
+    public void setAcquireTimeouts(long acquireTimeouts) {
+        this.acquireTimeouts = acquireTimeouts;
+    }
+
+    public long getAcquireMeanMicros() {
+        return acquireMeanMicros;
+    }
+
+    public void setAcquireMeanMicros(long acquireMeanMicros) {
+        this.acquireMeanMicros = acquireMeanMicros;
+    }
+
+    public long getAcquireMaxMicros() {
+        return acquireMaxMicros;
+    }
+
+    public void setAcquireMaxMicros(long acquireMaxMicros) {
+        this.acquireMaxMicros = acquireMaxMicros;
+    }
+}
@@ -0,0 +1,54 @@
+package com.game.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetricsTracker implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireTotalNanos = new LongAdder();
+    private final AtomicLong acquireMaxNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public PoolMetricsTracker(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireCount.increment();
+        acquireTotalNanos.add(elapsedAcquiredNanos);
+        acquireMaxNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeoutCount.increment();
+    }
+
+    public PoolMetrics snapshot() {
+        long count = acquireCount.sum();
+        long totalNanos = acquireTotalNanos.sum();
+
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.setPoolName(poolName);
+        metrics.setActive(poolStats.getActiveConnections());
+        metrics.setIdle(poolStats.getIdleConnections());
+        metrics.setTotal(poolStats.getTotalConnections());
+        metrics.setWaiting(poolStats.getPendingThreads());
+        metrics.setMaxSize(poolStats.getMaxConnections());
+        metrics.setAcquireCount(count);
+        metrics.setAcquireTimeouts(timeoutCount.sum());
+        metrics.setAcquireMeanMicros(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos / count));
+        metrics.setAcquireMaxMicros(TimeUnit.NANOSECONDS.toMicros(acquireMaxNanos.get()));
+        return metrics;
+    }
+}
@@ -0,0 +1,31 @@
+package com.game.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Hands HikariCP a {@link PoolMetricsTracker} and keeps a reference to it so the
+ * pool state can be read from outside (see {@code AdminController}).
+ * Stays empty when the active profile does not use a pooled data source.
+ */
+@Component
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private volatile PoolMetricsTracker tracker;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetricsTracker created = new PoolMetricsTracker(poolName, poolStats);
+        this.tracker = created;
+        return created;
+    }
+
+    public Optional<PoolMetrics> snapshot() {
+        PoolMetricsTracker current = tracker;
+        return current == null ? Optional.empty() : Optional.of(current.snapshot());
+    }
+}
@@ -0,0 +1,64 @@
+package com.game.metrics;
+
+public class QueryShapeMetrics {
+
+    private String fingerprint;
+
+    private String sql;
+
+    private long count;
+
+    private long totalMillis;
+
+    private long meanMicros;
+
+    private long maxMicros;
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public void setMeanMicros(long meanMicros) {
+        this.meanMicros = meanMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public void setMaxMicros(long maxMicros) {
+        this.maxMicros = maxMicros;
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.metrics;
+
+import com.game.repository.query.PlayerQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Times the native player queries per fingerprint (count, total and max) and logs every
+ * query slower than the threshold with its bound values. At most max-shapes fingerprints are
+ * tracked; slow queries of further shapes are still logged. The rows of a list result are
+ * counted in the {@link RequestMetrics} of the current request.
+ */
+@Component
+public class QueryStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatistics.class);
+
+    private final long slowThresholdNanos;
+    private final int maxShapes;
+    private final ConcurrentMap<String, ShapeTracker> shapes = new ConcurrentHashMap<>();
+
+    public QueryStatistics(@Value("${player.query-log.slow-threshold-ms:500}") long slowThresholdMs,
+                           @Value("${player.query-log.max-shapes:1000}") int maxShapes) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Runs the query and records its execution time under the query's fingerprint.
+     */
+    public <T> T record(PlayerQuery query, Supplier<T> execution) {
+        long start = System.nanoTime();
+        try {
+            T result = execution.get();
+            if (result instanceof Collection) {
+                RequestMetrics.addRows(((Collection<?>) result).size());
+            }
+            return result;
+        } finally {
+            record(query, System.nanoTime() - start);
+        }
+    }
+
+    void record(PlayerQuery query, long elapsedNanos) {
+        ShapeTracker tracker = shapes.get(query.getFingerprint());
+        if (tracker == null && shapes.size() < maxShapes) {
+            tracker = shapes.computeIfAbsent(query.getFingerprint(), fingerprint -> new ShapeTracker(query.getSql()));
+        }
+        if (tracker != null) {
+            tracker.record(elapsedNanos);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow query {} took {} ms. Parameters {}, SQL: {}", query.getFingerprint(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), query.getParameters(), query.getSql());
+        }
+    }
+
+    /**
+     * The limit shapes with the highest maximum time, slowest first.
+     */
+    public List<QueryShapeMetrics> slowest(int limit) {
+        List<QueryShapeMetrics> snapshot = new ArrayList<>(shapes.size());
+        shapes.forEach((fingerprint, tracker) -> snapshot.add(tracker.snapshot(fingerprint)));
+        snapshot.sort(Comparator.comparingLong(QueryShapeMetrics::getMaxMicros).reversed());
+        return snapshot.size() > limit ? new ArrayList<>(snapshot.subList(0, limit)) : snapshot;
+    }
+
+    private static final class ShapeTracker {
+
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        ShapeTracker(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            if (elapsedNanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            }
+        }
+
+        QueryShapeMetrics snapshot(String fingerprint) {
+            long queries = count.sum();
+            long total = totalNanos.sum();
+
+            QueryShapeMetrics metrics = new QueryShapeMetrics();
+            metrics.setFingerprint(fingerprint);
+            metrics.setSql(sql);
+            metrics.setCount(queries);
+            metrics.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(total));
+            metrics.setMeanMicros(queries == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / queries));
+            metrics.setMaxMicros(TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Database time and rows read on behalf of one HTTP request. Bound to the thread handling the
+ * request by {@link RequestMetricsInterceptor}. Statement execution is timed by
+ * {@link RequestMetricsSessionListener} and the rows read are counted by {@link QueryStatistics};
+ * the batch insert, which bypasses Hibernate, adds its own time. Work handed to another thread
+ * carries the metrics along with {@link #propagate(Runnable)}.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    RequestMetrics(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Returns the metrics of the request handled by this thread, null outside of a request.
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps the task so it records into the current request's metrics on whatever thread it runs.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestMetrics metrics = current();
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            RequestMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static void bind(RequestMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    private static void restore(RequestMetrics previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Adds database time to the current request, if any.
+     */
+    public static void addDbNanos(long nanos) {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.dbNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Adds rows read from the database to the current request, if any.
+     */
+    public static void addRows(long count) {
+        RequestMetrics metrics = current();
+        if (metrics != null) {
+            metrics.rows.add(count);
+        }
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    long getRows() {
+        return rows.sum();
+    }
+}
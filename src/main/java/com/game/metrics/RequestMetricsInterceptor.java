@@ -0,0 +1,139 @@
+package com.game.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, status, database time and rows read of every handled request, per endpoint
+ * (method and path pattern). Async requests are timed from the first dispatch to the completion
+ * of the async one. Recording only touches lock-free counters and histograms, the meters of an
+ * endpoint are looked up once. The histograms are published as buckets rather than client-side
+ * percentiles, so that percentiles can be aggregated across instances and endpoints.
+ * <p>
+ * The same values are logged as one key=value summary line per request on the
+ * {@value #REQUEST_LOGGER} logger, built only when that logger is enabled for INFO.
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String REQUEST_LOGGER = "com.game.request";
+
+    private static final Logger requestLog = LoggerFactory.getLogger(REQUEST_LOGGER);
+    private static final String METRICS_ATTRIBUTE = RequestMetrics.class.getName();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(METRICS_ATTRIBUTE);
+        if (metrics == null) {
+            metrics = new RequestMetrics(System.nanoTime());
+            request.setAttribute(METRICS_ATTRIBUTE, metrics);
+        }
+        RequestMetrics.bind(metrics);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics.unbind();
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(METRICS_ATTRIBUTE);
+        if (metrics == null) {
+            return;
+        }
+        // an unresolved exception becomes a 500 after the interceptors have run
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        EndpointMeters endpoint = meters.computeIfAbsent(request.getMethod() + ' ' + uri + ' ' + status,
+                key -> new EndpointMeters(registry, request.getMethod(), uri, status));
+        long elapsedNanos = System.nanoTime() - metrics.getStartNanos();
+        long dbNanos = metrics.getDbNanos();
+        long rows = metrics.getRows();
+        endpoint.requests.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        endpoint.dbTime.record(dbNanos, TimeUnit.NANOSECONDS);
+        endpoint.rows.record(rows);
+
+        if (requestLog.isInfoEnabled()) {
+            requestLog.info(summary(request.getMethod(), uri, status, elapsedNanos, dbNanos, rows, ex));
+        }
+    }
+
+    static String summary(String method, String uri, int status, long elapsedNanos, long dbNanos, long rows,
+                          Exception ex) {
+        StringBuilder line = new StringBuilder(128)
+                .append("method=").append(method)
+                .append(" uri=").append(uri)
+                .append(" status=").append(status)
+                .append(" timeMs=").append(TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000.0)
+                .append(" dbMs=").append(TimeUnit.NANOSECONDS.toMicros(dbNanos) / 1000.0)
+                .append(" rows=").append(rows);
+        if (ex != null) {
+            line.append(" error=").append(ex.getClass().getSimpleName());
+        }
+        return line.toString();
+    }
+
+    private static final class EndpointMeters {
+
+        private final Timer requests;
+        private final Timer dbTime;
+        private final DistributionSummary rows;
+
+        EndpointMeters(MeterRegistry registry, String method, String uri, int status) {
+            this.requests = Timer.builder("http.server.requests")
+                    .description("Handled requests, by endpoint and status")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .tag("status", Integer.toString(status))
+                    .tag("outcome", outcome(status))
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.dbTime = Timer.builder("http.server.requests.db")
+                    .description("Time spent in JDBC calls per request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.rows = DistributionSummary.builder("http.server.requests.rows")
+                    .description("Rows read from the database per request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static String outcome(int status) {
+            if (status >= 500) {
+                return "SERVER_ERROR";
+            }
+            if (status >= 400) {
+                return "CLIENT_ERROR";
+            }
+            return "SUCCESS";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.game.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing statements and batches to the {@link RequestMetrics}
+ * of the current request. Hibernate creates one listener per session (see
+ * {@code hibernate.session.events.auto}), so the start of the running statement needs no
+ * synchronization.
+ */
+public class RequestMetricsSessionListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestMetrics.addDbNanos(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestMetrics.addDbNanos(System.nanoTime() - executionStart);
+    }
+}
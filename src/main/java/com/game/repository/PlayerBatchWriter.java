@@ -0,0 +1,95 @@
+package com.game.repository;
+
+import com.game.entity.Player;
+import com.game.metrics.RequestMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Inserts players with JDBC batching. Hibernate cannot batch inserts of {@code IDENTITY} ids,
+ * so bulk writes go straight to JDBC: the whole list is sent as one batch (collapsed into
+ * multi-row inserts by the MySQL driver with {@code rewriteBatchedStatements=true})
+ * and the generated keys are read back in order.
+ * With {@code player.schema.generated-levels} the level columns are left to the database.
+ */
+@Repository
+public class PlayerBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO player(name, title, race, profession, birthday, banned, " +
+            "experience, level, untilNextLevel) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WITHOUT_LEVELS_SQL = "INSERT INTO player(name, title, race, profession, " +
+            "birthday, banned, experience) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean generatedLevels;
+
+    public PlayerBatchWriter(DataSource dataSource,
+                             @Value("${player.schema.generated-levels:false}") boolean generatedLevels) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.generatedLevels = generatedLevels;
+    }
+
+    /**
+     * Inserts the players in one batch and sets their generated ids.
+     * Joins the current transaction if there is one.
+     */
+    public void insert(List<Player> players) {
+        if (players.isEmpty()) {
+            return;
+        }
+        String sql = generatedLevels ? INSERT_WITHOUT_LEVELS_SQL : INSERT_SQL;
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Player player : players) {
+                    bind(statement, player);
+                    statement.addBatch();
+                }
+                // Hibernate does not see this statement, so its time is added to the request here
+                long start = System.nanoTime();
+                statement.executeBatch();
+                RequestMetrics.addDbNanos(System.nanoTime() - start);
+                assignIds(statement, players);
+            }
+            return null;
+        });
+    }
+
+    private void bind(PreparedStatement statement, Player player) throws SQLException {
+        statement.setString(1, player.getName());
+        statement.setString(2, player.getTitle());
+        statement.setString(3, player.getRace() == null ? null : player.getRace().name());
+        statement.setString(4, player.getProfession() == null ? null : player.getProfession().name());
+        statement.setDate(5, player.getBirthday() == null ? null : new Date(player.getBirthday().getTime()));
+        statement.setBoolean(6, player.isBanned());
+        statement.setInt(7, player.getExperience());
+        if (generatedLevels) {
+            return;
+        }
+        statement.setInt(8, player.getLevel());
+        statement.setInt(9, player.getUntilNextLevel());
+    }
+
+    private static void assignIds(PreparedStatement statement, List<Player> players) throws SQLException {
+        int assigned = 0;
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next() && assigned < players.size()) {
+                players.get(assigned++).setId(keys.getLong(1));
+            }
+        }
+        if (assigned != players.size()) {
+            throw new DataRetrievalFailureException(String.format(
+                    "Expected %d generated ids, got %d", players.size(), assigned));
+        }
+    }
+}
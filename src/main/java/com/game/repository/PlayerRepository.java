@@ -1,16 +1,47 @@
 package com.game.repository;
 
 import com.game.entity.Player;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 
 @Repository
 public interface PlayerRepository extends PagingAndSortingRepository<Player, Long> {
 
     String SELECT_FROM_PLAYER = "SELECT * FROM player WHERE 1=1";
     String SELECT_COUNT_FROM_PLAYER = "SELECT COUNT(*) FROM player WHERE 1=1";
+    String TOTAL_COUNT_COLUMN = "total_count";
+    String SELECT_FROM_PLAYER_WITH_TOTAL = "SELECT player.*, COUNT(*) OVER () AS " + TOTAL_COUNT_COLUMN + " FROM player WHERE 1=1";
+    String PLAYER_WITH_TOTAL_MAPPING = "PlayerWithTotal";
+    String SELECT_FACETS_FROM_PLAYER = "SELECT race, profession, FLOOR(level / ?) AS level_bucket, COUNT(*) FROM player WHERE 1=1";
+    String GROUP_BY_FACETS = " GROUP BY race, profession, level_bucket";
+    String UPDATE_PLAYER = "UPDATE player SET ";
 
     Integer DEFAULT_PAGE_NUMBER = 0;
     Integer DEFAULT_PAGE_SIZE = 3;
 
+    /**
+     * Unlike {@link #deleteById(Object)}, runs a single statement without loading the entity first.
+     *
+     * @return number of deleted rows, 0 if there is no such player
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Player p WHERE p.id = :id")
+    int deletePlayerById(@Param("id") Long id);
+
+    /**
+     * Deletes all the players in a single statement.
+     *
+     * @return number of deleted rows, ids without a player are not counted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Player p WHERE p.id IN :ids")
+    int deletePlayersByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
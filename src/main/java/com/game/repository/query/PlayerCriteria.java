@@ -0,0 +1,199 @@
+package com.game.repository.query;
+
+import com.game.controller.PlayerOrder;
+import com.game.exception.ValidationException;
+import com.game.repository.PlayerRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Parsed and validated form of the {@code /rest/players} request parameters.
+ * Instances are immutable and comparable by value.
+ */
+public final class PlayerCriteria {
+
+    public static final String PAGE_NUMBER = "pageNumber";
+    public static final String PAGE_SIZE = "pageSize";
+    public static final String ORDER = "order";
+    public static final String CURSOR = "cursor";
+
+    private final Map<PlayerFilter, Object> filters;
+    private final PlayerOrder order;
+    private final int pageNumber;
+    private final int pageSize;
+    private final SeekCursor cursor;
+    // null unless narrowed
+    private final long[] candidates;
+
+    private PlayerCriteria(Map<PlayerFilter, Object> filters, PlayerOrder order, int pageNumber, int pageSize,
+                           SeekCursor cursor, long[] candidates) {
+        this.filters = Collections.unmodifiableMap(filters);
+        this.order = order;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.cursor = cursor;
+        this.candidates = candidates;
+    }
+
+    public static PlayerCriteria fromParams(Map<String, String> params) {
+        Map<PlayerFilter, Object> filters = new EnumMap<>(PlayerFilter.class);
+        PlayerOrder order = PlayerOrder.ID;
+        int pageNumber = PlayerRepository.DEFAULT_PAGE_NUMBER;
+        int pageSize = PlayerRepository.DEFAULT_PAGE_SIZE;
+        String cursorToken = null;
+
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            String param = entry.getKey();
+            String value = entry.getValue();
+            switch (param) {
+                case PAGE_NUMBER:
+                    pageNumber = parseInt(param, value, 0);
+                    break;
+                case PAGE_SIZE:
+                    pageSize = parseInt(param, value, 1);
+                    break;
+                case ORDER:
+                    order = parseOrder(value);
+                    break;
+                case CURSOR:
+                    cursorToken = value;
+                    break;
+                default:
+                    PlayerFilter filter = PlayerFilter.fromParam(param)
+                            .orElseThrow(() -> new ValidationException(String.format("Unknown parameter %s", param)));
+                    filters.put(filter, filter.parse(value));
+            }
+        }
+        if ((long) pageNumber * pageSize > Integer.MAX_VALUE) {
+            // the offset would not fit in the int the query takes
+            throw new ValidationException(String.format("Parameter %s has invalid value", PAGE_NUMBER));
+        }
+        SeekCursor cursor = cursorToken == null ? null : SeekCursor.decode(cursorToken, order);
+        return new PlayerCriteria(filters, order, pageNumber, pageSize, cursor, null);
+    }
+
+    private static int parseInt(String param, String value, int min) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new ValidationException(String.format("Parameter %s has invalid value", param));
+    }
+
+    private static PlayerOrder parseOrder(String value) {
+        try {
+            return PlayerOrder.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Parameter %s has invalid value", ORDER));
+        }
+    }
+
+    public Map<PlayerFilter, Object> getFilters() {
+        return filters;
+    }
+
+    public PlayerOrder getOrder() {
+        return order;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Position to continue a keyset page from; empty for the first page and for offset paging.
+     */
+    public Optional<SeekCursor> getCursor() {
+        return Optional.ofNullable(cursor);
+    }
+
+    /**
+     * The same filters with default order and paging, for results that depend on filters only.
+     */
+    public PlayerCriteria withoutPaging() {
+        return new PlayerCriteria(filters, PlayerOrder.ID, PlayerRepository.DEFAULT_PAGE_NUMBER,
+                PlayerRepository.DEFAULT_PAGE_SIZE, null, candidates);
+    }
+
+    /**
+     * The same criteria restricted to the players with the ids, a superset of the matching ones
+     * found by an index. The filters are still checked, so the result does not change.
+     * There must be at least one id; no candidates means no match, without a query.
+     */
+    public PlayerCriteria withCandidates(long[] ids) {
+        if (ids.length == 0) {
+            throw new IllegalArgumentException("No candidates");
+        }
+        return new PlayerCriteria(filters, order, pageNumber, pageSize, cursor, ids.clone());
+    }
+
+    /**
+     * Ids the query is restricted to; empty unless {@link #withCandidates narrowed}.
+     */
+    public Optional<long[]> getCandidates() {
+        return candidates == null ? Optional.empty() : Optional.of(candidates.clone());
+    }
+
+    public int getOffset() {
+        return pageNumber * pageSize;
+    }
+
+    /**
+     * Bit set of the present filters, indexed by {@link PlayerFilter#ordinal()}.
+     * Two criteria with the same shape produce the same SQL text.
+     */
+    public int getShape() {
+        int shape = 0;
+        for (PlayerFilter filter : filters.keySet()) {
+            shape |= 1 << filter.ordinal();
+        }
+        return shape;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PlayerCriteria that = (PlayerCriteria) o;
+        return pageNumber == that.pageNumber
+                && pageSize == that.pageSize
+                && order == that.order
+                && filters.equals(that.filters)
+                && Objects.equals(cursor, that.cursor)
+                && Arrays.equals(candidates, that.candidates);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(filters, order, pageNumber, pageSize, cursor) + Arrays.hashCode(candidates);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerCriteria{" +
+                "filters=" + filters +
+                ", order=" + order +
+                ", pageNumber=" + pageNumber +
+                ", pageSize=" + pageSize +
+                ", cursor=" + cursor +
+                (candidates == null ? "" : ", candidates=" + candidates.length) +
+                '}';
+    }
+}
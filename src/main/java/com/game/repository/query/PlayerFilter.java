@@ -0,0 +1,145 @@
+package com.game.repository.query;
+
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.exception.ValidationException;
+import com.game.util.DateUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Request parameters accepted by the filtered player queries.
+ * The declaration order is the order in which conditions appear in the generated SQL,
+ * so a given set of filters always produces the same statement text.
+ */
+public enum PlayerFilter {
+    NAME("name", "name", Operator.LIKE),
+    TITLE("title", "title", Operator.LIKE),
+    RACE("race", "race", Operator.EQ),
+    PROFESSION("profession", "profession", Operator.EQ),
+    AFTER("after", "birthday", Operator.GE),
+    BEFORE("before", "birthday", Operator.LE),
+    BANNED("banned", "banned", Operator.EQ),
+    MIN_EXPERIENCE("minExperience", "experience", Operator.GE),
+    MAX_EXPERIENCE("maxExperience", "experience", Operator.LE),
+    MIN_LEVEL("minLevel", "level", Operator.GE),
+    MAX_LEVEL("maxLevel", "level", Operator.LE);
+
+    public enum Operator {
+        EQ(" = ?"),
+        GE(" >= ?"),
+        LE(" <= ?"),
+        /**
+         * Substring match, bound as {@code %value%}. The leading wildcard cannot seek a B-tree, so
+         * idx_player_name of the V2 migration serves only the name order, never the name filter.
+         */
+        LIKE(" LIKE ?");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    private static final Map<String, PlayerFilter> BY_PARAM = new HashMap<>();
+
+    static {
+        for (PlayerFilter filter : values()) {
+            BY_PARAM.put(filter.param, filter);
+        }
+    }
+
+    private final String param;
+    private final String column;
+    private final Operator operator;
+
+    PlayerFilter(String param, String column, Operator operator) {
+        this.param = param;
+        this.column = column;
+        this.operator = operator;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public static Optional<PlayerFilter> fromParam(String param) {
+        return Optional.ofNullable(BY_PARAM.get(param));
+    }
+
+    /**
+     * Converts a raw request value to the typed value kept in {@link PlayerCriteria}:
+     * {@code String} for name/title, enums for race/profession, {@code Boolean} for banned,
+     * {@code Integer} for experience/level and a {@link LocalDate} for birthday bounds.
+     */
+    Object parse(String value) {
+        try {
+            switch (this) {
+                case NAME:
+                case TITLE:
+                    return value;
+                case RACE:
+                    return Race.valueOf(value);
+                case PROFESSION:
+                    return Profession.valueOf(value);
+                case BANNED:
+                    return Boolean.valueOf(value);
+                case AFTER:
+                case BEFORE:
+                    return DateUtils.toLocalDate(Long.parseLong(value));
+                default:
+                    return Integer.valueOf(value);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Parameter %s has invalid value", param));
+        }
+    }
+
+    /**
+     * Converts a typed criteria value to the JDBC bind value for this filter's column.
+     */
+    Object toBindValue(Object value) {
+        switch (this) {
+            case NAME:
+            case TITLE:
+                return "%" + escapeLike((String) value) + "%";
+            case RACE:
+            case PROFESSION:
+                return ((Enum<?>) value).name();
+            case AFTER:
+            case BEFORE:
+                return Date.valueOf((LocalDate) value);
+            default:
+                return value;
+        }
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.game.repository.query;
+
+import javax.persistence.Query;
+import java.util.List;
+
+/**
+ * A native SQL statement with its positional bind values, and the fingerprint of its shape:
+ * which filters or columns it has, without their values.
+ */
+public final class PlayerQuery {
+
+    private final String sql;
+    private final String fingerprint;
+    private final List<Object> parameters;
+
+    PlayerQuery(String sql, String fingerprint, List<Object> parameters) {
+        this.sql = sql;
+        this.fingerprint = fingerprint;
+        this.parameters = parameters;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public <T extends Query> T bind(T query) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,268 @@
+package com.game.repository.query;
+
+import com.game.controller.PlayerOrder;
+import com.game.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds parameterized native queries for {@link PlayerCriteria}.
+ * The SQL text depends only on which filters are present (and on the order for selects),
+ * never on their values, and is built once per shape and cached, together with a short
+ * fingerprint of the shape such as {@code SELECT [race,minLevel] order=LEVEL}.
+ * <p>
+ * Criteria narrowed to candidate ids get an {@code id IN} list padded to the next power of two
+ * by repeating the last id, so that they add one statement per power of two and not per count.
+ */
+@Component
+public class PlayerQueryFactory {
+
+    private static final int ORDER_SHIFT = PlayerFilter.values().length;
+    private static final int KIND_SHIFT = ORDER_SHIFT + 4;
+    private static final int CANDIDATES_SHIFT = KIND_SHIFT + 3;
+
+    private enum Kind {
+        SELECT(PlayerRepository.SELECT_FROM_PLAYER),
+        SELECT_WITH_TOTAL(PlayerRepository.SELECT_FROM_PLAYER_WITH_TOTAL),
+        COUNT(PlayerRepository.SELECT_COUNT_FROM_PLAYER),
+        FACETS(PlayerRepository.SELECT_FACETS_FROM_PLAYER),
+        SEEK_FIRST(PlayerRepository.SELECT_FROM_PLAYER),
+        SEEK_NEXT(PlayerRepository.SELECT_FROM_PLAYER),
+        SEEK_AFTER_NULL(PlayerRepository.SELECT_FROM_PLAYER),
+        UPDATE(PlayerRepository.UPDATE_PLAYER);
+
+        private final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+
+        boolean isOrdered() {
+            return this != COUNT && this != FACETS && this != UPDATE;
+        }
+
+        boolean isSeek() {
+            return this == SEEK_FIRST || this == SEEK_NEXT || this == SEEK_AFTER_NULL;
+        }
+    }
+
+    private static final int GENERATED_COLUMNS =
+            1 << PlayerUpdate.Column.LEVEL.ordinal() | 1 << PlayerUpdate.Column.UNTIL_NEXT_LEVEL.ordinal();
+
+    private final Map<Integer, Statement> statementByShape = new ConcurrentHashMap<>();
+    private final int updatableColumns;
+
+    public PlayerQueryFactory() {
+        this(false);
+    }
+
+    /**
+     * @param generatedLevels whether level and untilNextLevel are generated by the database
+     *                        and must be left out of updates
+     */
+    @Autowired
+    public PlayerQueryFactory(@Value("${player.schema.generated-levels:false}") boolean generatedLevels) {
+        this.updatableColumns = generatedLevels ? ~GENERATED_COLUMNS : ~0;
+    }
+
+    public PlayerQuery select(PlayerCriteria criteria) {
+        return create(Kind.SELECT, criteria);
+    }
+
+    /**
+     * Same as {@link #select(PlayerCriteria)} but every row also carries the total number of
+     * matching rows in the {@link PlayerRepository#TOTAL_COUNT_COLUMN} column (window function).
+     */
+    public PlayerQuery selectWithTotal(PlayerCriteria criteria) {
+        return create(Kind.SELECT_WITH_TOTAL, criteria);
+    }
+
+    public PlayerQuery count(PlayerCriteria criteria) {
+        return create(Kind.COUNT, criteria);
+    }
+
+    /**
+     * Number of matching rows per race, profession and level bucket, one row of
+     * {@code race, profession, level / levelBucket, count} for each combination present.
+     */
+    public PlayerQuery facets(PlayerCriteria criteria, int levelBucket) {
+        PlayerQuery query = create(Kind.FACETS, criteria);
+        // the bucket width is bound in the select list, ahead of the filters
+        List<Object> parameters = new ArrayList<>(query.getParameters().size() + 1);
+        parameters.add(levelBucket);
+        parameters.addAll(query.getParameters());
+        return new PlayerQuery(query.getSql(), query.getFingerprint(), parameters);
+    }
+
+    /**
+     * Keyset page: rows strictly after the criteria cursor (if any) in order of the
+     * order column with id as a tiebreaker. Meant to be run without an offset.
+     */
+    public PlayerQuery seek(PlayerCriteria criteria) {
+        Optional<SeekCursor> cursor = criteria.getCursor();
+        Kind kind = !cursor.isPresent() ? Kind.SEEK_FIRST
+                : cursor.get().isAfterNull() ? Kind.SEEK_AFTER_NULL : Kind.SEEK_NEXT;
+        return create(kind, criteria);
+    }
+
+    /**
+     * Single-statement update of the set columns of one player. Updates no row if the id is unknown.
+     * Columns generated by the database are left out of the statement.
+     */
+    public PlayerQuery update(Long id, PlayerUpdate update) {
+        int shape = update.getShape() & updatableColumns;
+        if (shape == 0) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        Statement statement = statementByShape.computeIfAbsent(shape | Kind.UPDATE.ordinal() << KIND_SHIFT,
+                k -> new Statement(buildUpdateSql(shape), updateFingerprint(shape)));
+
+        List<Object> parameters = update.bindValues(shape);
+        parameters.add(id);
+        return new PlayerQuery(statement.sql, statement.fingerprint, parameters);
+    }
+
+    private PlayerQuery create(Kind kind, PlayerCriteria criteria) {
+        int shape = criteria.getShape();
+        PlayerOrder order = kind.isOrdered() ? criteria.getOrder() : null;
+        long[] candidates = criteria.getCandidates().orElse(null);
+        int inListSize = candidates == null ? 0 : inListSize(candidates.length);
+        // 0 without candidates, else log2 of the list size plus one
+        int candidatesClass = 32 - Integer.numberOfLeadingZeros(inListSize);
+        int key = shape | (order == null ? 0 : order.ordinal() << ORDER_SHIFT) | kind.ordinal() << KIND_SHIFT
+                | candidatesClass << CANDIDATES_SHIFT;
+        Statement statement = statementByShape.computeIfAbsent(key,
+                k -> new Statement(buildSql(kind, shape, order, inListSize), fingerprint(kind, shape, order, inListSize)));
+
+        List<Object> parameters = bindValues(criteria);
+        for (int i = 0; i < inListSize; i++) {
+            parameters.add(candidates[Math.min(i, candidates.length - 1)]);
+        }
+        if (kind == Kind.SEEK_NEXT || kind == Kind.SEEK_AFTER_NULL) {
+            parameters.addAll(criteria.getCursor().get().bindValues());
+        }
+        return new PlayerQuery(statement.sql, statement.fingerprint, parameters);
+    }
+
+    /**
+     * The next power of two, at least one; an empty list is not valid SQL.
+     */
+    private static int inListSize(int candidates) {
+        return candidates <= 1 ? 1 : Integer.highestOneBit(candidates - 1) << 1;
+    }
+
+    private static String buildSql(Kind kind, int shape, PlayerOrder order, int inListSize) {
+        StringBuilder sqlBuilder = new StringBuilder(kind.prefix);
+        appendConditions(sqlBuilder, shape);
+        if (inListSize > 0) {
+            StringJoiner ids = new StringJoiner(", ", " AND id IN (", ")");
+            for (int i = 0; i < inListSize; i++) {
+                ids.add("?");
+            }
+            sqlBuilder.append(ids);
+        }
+        if (kind == Kind.SEEK_NEXT) {
+            appendSeekCondition(sqlBuilder, order);
+        }
+        if (kind == Kind.SEEK_AFTER_NULL) {
+            appendSeekAfterNullCondition(sqlBuilder, order);
+        }
+        if (kind == Kind.FACETS) {
+            sqlBuilder.append(PlayerRepository.GROUP_BY_FACETS);
+        }
+        if (order != null) {
+            sqlBuilder.append(" ORDER BY ").append(order.getFieldName());
+            if (kind.isSeek() && order != PlayerOrder.ID) {
+                sqlBuilder.append(", id");
+            }
+        }
+        return sqlBuilder.toString();
+    }
+
+    private static String buildUpdateSql(int shape) {
+        StringJoiner assignments = new StringJoiner(", ", Kind.UPDATE.prefix, " WHERE id = ?");
+        for (PlayerUpdate.Column column : PlayerUpdate.Column.values()) {
+            if ((shape & 1 << column.ordinal()) != 0) {
+                assignments.add(column.getColumn() + " = ?");
+            }
+        }
+        return assignments.toString();
+    }
+
+    private static String fingerprint(Kind kind, int shape, PlayerOrder order, int inListSize) {
+        StringJoiner params = new StringJoiner(",", kind.name() + " [", "]");
+        for (PlayerFilter filter : PlayerFilter.values()) {
+            if ((shape & 1 << filter.ordinal()) != 0) {
+                params.add(filter.getParam());
+            }
+        }
+        String fingerprint = order == null ? params.toString() : params + " order=" + order.name();
+        return inListSize == 0 ? fingerprint : fingerprint + " candidates=" + inListSize;
+    }
+
+    private static String updateFingerprint(int shape) {
+        StringJoiner columns = new StringJoiner(",", Kind.UPDATE.name() + " [", "]");
+        for (PlayerUpdate.Column column : PlayerUpdate.Column.values()) {
+            if ((shape & 1 << column.ordinal()) != 0) {
+                columns.add(column.getColumn());
+            }
+        }
+        return columns.toString();
+    }
+
+    private static void appendSeekCondition(StringBuilder sqlBuilder, PlayerOrder order) {
+        if (order == PlayerOrder.ID) {
+            sqlBuilder.append(" AND id > ?");
+            return;
+        }
+        String column = order.getFieldName();
+        sqlBuilder.append(" AND (").append(column).append(" > ?")
+                .append(" OR (").append(column).append(" = ? AND id > ?))");
+    }
+
+    /**
+     * NULLs sort first, so the rows after a NULL are the other NULLs with a greater id and every value.
+     */
+    private static void appendSeekAfterNullCondition(StringBuilder sqlBuilder, PlayerOrder order) {
+        String column = order.getFieldName();
+        sqlBuilder.append(" AND ((").append(column).append(" IS NULL AND id > ?)")
+                .append(" OR ").append(column).append(" IS NOT NULL)");
+    }
+
+    static void appendConditions(StringBuilder sqlBuilder, int shape) {
+        for (PlayerFilter filter : PlayerFilter.values()) {
+            if ((shape & 1 << filter.ordinal()) != 0) {
+                sqlBuilder.append(" AND ")
+                        .append(filter.getColumn())
+                        .append(filter.getOperator().getSql());
+            }
+        }
+    }
+
+    static List<Object> bindValues(PlayerCriteria criteria) {
+        Map<PlayerFilter, Object> filters = criteria.getFilters();
+        List<Object> values = new ArrayList<>(filters.size());
+        // EnumMap iterates in declaration order, matching appendConditions
+        filters.forEach((filter, value) -> values.add(filter.toBindValue(value)));
+        return values;
+    }
+
+    private static final class Statement {
+
+        private final String sql;
+        private final String fingerprint;
+
+        Statement(String sql, String fingerprint) {
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.game.repository.query;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The columns to change in one player row, turned into a single {@code UPDATE} by
+ * {@link PlayerQueryFactory#update(Long, PlayerUpdate)}. As with filters, the statement text
+ * depends only on which columns are set.
+ */
+public final class PlayerUpdate {
+
+    /**
+     * Updatable columns, in the order they appear in the generated SET clause.
+     */
+    public enum Column {
+        NAME("name"),
+        TITLE("title"),
+        RACE("race"),
+        PROFESSION("profession"),
+        BIRTHDAY("birthday"),
+        BANNED("banned"),
+        EXPERIENCE("experience"),
+        LEVEL("level"),
+        UNTIL_NEXT_LEVEL("untilNextLevel");
+
+        private final String column;
+
+        Column(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    private final Map<Column, Object> values = new EnumMap<>(Column.class);
+
+    public PlayerUpdate set(Column column, Object value) {
+        values.put(column, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Whether every column is set, so that the update alone describes the whole row.
+     */
+    public boolean isComplete() {
+        return values.size() == Column.values().length;
+    }
+
+    int getShape() {
+        int shape = 0;
+        for (Column column : values.keySet()) {
+            shape |= 1 << column.ordinal();
+        }
+        return shape;
+    }
+
+    /**
+     * Values of the columns in the shape, see {@link #getShape()}.
+     */
+    List<Object> bindValues(int shape) {
+        List<Object> bindValues = new ArrayList<>(values.size() + 1);
+        // EnumMap iterates in declaration order, matching the SET clause
+        values.forEach((column, value) -> {
+            if ((shape & 1 << column.ordinal()) != 0) {
+                bindValues.add(toBindValue(value));
+            }
+        });
+        return bindValues;
+    }
+
+    private static Object toBindValue(Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof Date) {
+            return new java.sql.Date(((Date) value).getTime());
+        }
+        return value;
+    }
+
+    /**
+     * Returns a copy of the player with the update applied, the player itself is not modified.
+     */
+    public Player applyTo(Player player) {
+        Player updated = new Player();
+        updated.setId(player.getId());
+        updated.setName(player.getName());
+        updated.setTitle(player.getTitle());
+        updated.setRace(player.getRace());
+        updated.setProfession(player.getProfession());
+        updated.setBirthday(player.getBirthday());
+        updated.setBanned(player.isBanned());
+        updated.setExperience(player.getExperience());
+        updated.setLevel(player.getLevel());
+        updated.setUntilNextLevel(player.getUntilNextLevel());
+
+        values.forEach((column, value) -> {
+            switch (column) {
+                case NAME:
+                    updated.setName((String) value);
+                    break;
+                case TITLE:
+                    updated.setTitle((String) value);
+                    break;
+                case RACE:
+                    updated.setRace((Race) value);
+                    break;
+                case PROFESSION:
+                    updated.setProfession((Profession) value);
+                    break;
+                case BIRTHDAY:
+                    updated.setBirthday((Date) value);
+                    break;
+                case BANNED:
+                    updated.setBanned((Boolean) value);
+                    break;
+                case EXPERIENCE:
+                    updated.setExperience((Integer) value);
+                    break;
+                case LEVEL:
+                    updated.setLevel((Integer) value);
+                    break;
+                case UNTIL_NEXT_LEVEL:
+                    updated.setUntilNextLevel((Integer) value);
+                    break;
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerUpdate{" + values + '}';
+    }
+}
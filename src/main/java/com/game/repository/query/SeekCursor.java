@@ -0,0 +1,145 @@
+package com.game.repository.query;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Position after the last row of a keyset page: the value of the order column and the id
+ * used as a tiebreaker. Travels to clients as an opaque URL-safe token.
+ * <p>
+ * The order columns are nullable. A NULL value is encoded by leaving the value out, and since
+ * MySQL and H2 sort NULLs before every value in ascending order, the rows after such a cursor
+ * are the remaining NULL rows by id followed by all rows with a value.
+ */
+public final class SeekCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private final PlayerOrder order;
+    private final long id;
+    private final Object value;
+
+    private SeekCursor(PlayerOrder order, long id, Object value) {
+        this.order = order;
+        this.id = id;
+        this.value = value;
+    }
+
+    public static SeekCursor after(Player player, PlayerOrder order) {
+        Object value;
+        switch (order) {
+            case NAME:
+                value = player.getName();
+                break;
+            case EXPERIENCE:
+                value = player.getExperience();
+                break;
+            case LEVEL:
+                value = player.getLevel();
+                break;
+            case BIRTHDAY:
+                value = player.getBirthday() == null ? null : new Date(player.getBirthday().getTime()).toLocalDate();
+                break;
+            default:
+                value = null;
+        }
+        return new SeekCursor(order, player.getId(), value);
+    }
+
+    public static SeekCursor decode(String token, PlayerOrder expectedOrder) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = SEPARATOR_PATTERN.split(decoded, 3);
+            PlayerOrder order = PlayerOrder.valueOf(parts[0]);
+            if (order != expectedOrder || parts.length < 2 || order == PlayerOrder.ID && parts.length != 2) {
+                throw new IllegalArgumentException("Cursor does not match the requested order");
+            }
+            long id = Long.parseLong(parts[1]);
+            return new SeekCursor(order, id, parts.length == 2 ? null : parseValue(order, parts[2]));
+        } catch (RuntimeException e) {
+            throw new ValidationException(String.format("Parameter %s has invalid value", PlayerCriteria.CURSOR));
+        }
+    }
+
+    private static Object parseValue(PlayerOrder order, String value) {
+        switch (order) {
+            case EXPERIENCE:
+            case LEVEL:
+                return Integer.valueOf(value);
+            case BIRTHDAY:
+                return LocalDate.ofEpochDay(Long.parseLong(value));
+            default:
+                return value;
+        }
+    }
+
+    public String encode() {
+        StringBuilder token = new StringBuilder(order.name()).append(SEPARATOR).append(id);
+        if (value != null) {
+            token.append(SEPARATOR).append(value instanceof LocalDate ? ((LocalDate) value).toEpochDay() : value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the cursor is on a row with NULL in the order column, which needs its own seek condition.
+     */
+    boolean isAfterNull() {
+        return order != PlayerOrder.ID && value == null;
+    }
+
+    /**
+     * Bind values for the seek condition built by {@link PlayerQueryFactory}: {@code id > ?} for
+     * the id order, {@code (col IS NULL AND id > ?) OR col IS NOT NULL} after a NULL value and
+     * {@code col > ? OR (col = ? AND id > ?)} otherwise.
+     */
+    List<Object> bindValues() {
+        if (order == PlayerOrder.ID || value == null) {
+            return Collections.singletonList(id);
+        }
+        Object bound = value instanceof LocalDate ? Date.valueOf((LocalDate) value) : value;
+        return Arrays.asList(bound, bound, id);
+    }
+
+    public PlayerOrder getOrder() {
+        return order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SeekCursor that = (SeekCursor) o;
+        return id == that.id && order == that.order && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(order, id, value);
+    }
+
+    @Override
+    public String toString() {
+        return "SeekCursor{" +
+                "order=" + order +
+                ", id=" + id +
+                ", value=" + value +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.game.service;
+
+import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.BulkCreateResult;
+
+import java.util.List;
+
+public interface PlayerBulkService {
+
+    /**
+     * Validates and creates every player of the request. Invalid items and items the database
+     * rejects are reported in the result and do not prevent the others from being created.
+     */
+    BulkCreateResult createAll(List<PlayerDTO> players);
+}
@@ -0,0 +1,35 @@
+package com.game.service;
+
+import com.game.controller.response.ImportStatus;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface PlayerImportService {
+
+    enum Format {
+        /**
+         * One JSON player per line.
+         */
+        NDJSON,
+        /**
+         * Comma separated, with a header line naming the player fields.
+         */
+        CSV
+    }
+
+    /**
+     * Imports every player of the stream and returns once the stream is fully read and written.
+     */
+    ImportStatus importStream(InputStream input, Format format);
+
+    /**
+     * Starts importing a file of the import directory in the background.
+     *
+     * @param fileName file name relative to the import directory
+     * @return the status right after the import was started
+     */
+    ImportStatus startFileImport(String fileName, Format format);
+
+    Optional<ImportStatus> findStatus(long id);
+}
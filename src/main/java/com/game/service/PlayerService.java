@@ -1,11 +1,16 @@
 package com.game.service;
 
 import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.PlayerFacets;
+import com.game.controller.response.PlayerPage;
+import com.game.controller.response.PlayerSlice;
 import com.game.entity.Player;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PlayerService {
 
@@ -13,7 +18,16 @@ public interface PlayerService {
 
     Player save(Player player);
 
-    void delete(Long id);
+    /**
+     * @return false if there is no player with the id
+     */
+    boolean delete(Long id);
+
+    /**
+     * @return number of deleted players, unknown ids are skipped
+     * @throws com.game.exception.ValidationException if there are more ids than player.bulk.max-delete-ids
+     */
+    int deleteAll(Collection<Long> ids);
 
     Optional<Player> findById(Long id);
 
@@ -21,5 +35,24 @@ public interface PlayerService {
 
     int countAllByParams(Map<String, String> params);
 
+    /**
+     * Counts of the players matching the filter params per race, profession and level bucket,
+     * from a single grouped query. Paging and order params are ignored.
+     */
+    PlayerFacets findFacetsByParams(Map<String, String> params);
+
+    PlayerPage findPageByParams(Map<String, String> params);
+
+    PlayerSlice findSliceByParams(Map<String, String> params);
+
+    /**
+     * Passes every player matching the filter params, in the requested order, to the consumer.
+     * Paging params are ignored. Rows are streamed from a forward-only cursor and detached
+     * after the consumer returns, so memory use does not depend on the number of rows.
+     *
+     * @return number of exported players
+     */
+    long exportAllByParams(Map<String, String> params, Consumer<Player> consumer);
+
     Optional<Player> update(Long id, PlayerDTO player);
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.game.service.impl;
+
+import com.game.controller.response.BulkItemError;
+import com.game.controller.response.ImportStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one import, updated by the pipeline threads and read by status requests.
+ */
+class ImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final long id;
+    private final String source;
+    private final String format;
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder read = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final List<BulkItemError> errors = new ArrayList<>();
+
+    private volatile ImportStatus.State state = ImportStatus.State.RUNNING;
+    private volatile long endNanos;
+    private volatile String message;
+
+    ImportJob(long id, String source, String format) {
+        this.id = id;
+        this.source = source;
+        this.format = format;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    boolean isRunning() {
+        return state == ImportStatus.State.RUNNING;
+    }
+
+    void recordRead() {
+        read.increment();
+    }
+
+    void recordCreated(int count) {
+        created.add(count);
+    }
+
+    void recordErrors(List<BulkItemError> chunkErrors) {
+        failed.add(chunkErrors.size());
+        synchronized (errors) {
+            for (BulkItemError error : chunkErrors) {
+                if (errors.size() == MAX_REPORTED_ERRORS) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+    }
+
+    void complete() {
+        finish(ImportStatus.State.COMPLETED, null);
+    }
+
+    /**
+     * Marks the import failed. Only the first failure is kept.
+     */
+    void fail(String reason) {
+        finish(ImportStatus.State.FAILED, reason);
+    }
+
+    private synchronized void finish(ImportStatus.State finalState, String reason) {
+        if (isRunning()) {
+            endNanos = System.nanoTime();
+            message = reason;
+            state = finalState;
+        }
+    }
+
+    ImportStatus snapshot() {
+        ImportStatus.State currentState = state;
+        long end = currentState == ImportStatus.State.RUNNING ? System.nanoTime() : endNanos;
+        List<BulkItemError> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+        return new ImportStatus(id, source, format, currentState, read.sum(), created.sum(), failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(end - startNanos), message, reportedErrors);
+    }
+}
@@ -0,0 +1,71 @@
+package com.game.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Player level as a function of experience: level {@code n} starts at {@code 50 * n * (n + 1)}
+ * experience, which is the inverse of {@code (sqrt(2500 + 200 * experience) - 50) / 100}.
+ * <p>
+ * Tables for the whole experience range are computed once. Consecutive thresholds are at least
+ * {@link #BUCKET_WIDTH} apart, so a bucket of that many experience values contains at most one
+ * threshold: a lookup is the level at the start of the bucket, plus one if the experience reaches
+ * the next threshold. No floating point, boxing or allocation.
+ */
+@Component
+public class LevelCalculator {
+
+    private static final int MAX_EXPERIENCE = PlayerValidationServiceImpl.MAX_EXPERIENCE_VALUE;
+    private static final int BUCKET_WIDTH = 100;
+
+    /**
+     * thresholds[n] is the experience needed for level n, up to one level past the maximum experience.
+     */
+    private final int[] thresholds;
+
+    /**
+     * levelAtBucketStart[b] is the level of experience b * BUCKET_WIDTH.
+     */
+    private final short[] levelAtBucketStart;
+
+    public LevelCalculator() {
+        int levels = 1;
+        while (threshold(levels - 1) <= MAX_EXPERIENCE) {
+            levels++;
+        }
+        thresholds = new int[levels];
+        for (int level = 0; level < levels; level++) {
+            thresholds[level] = threshold(level);
+        }
+
+        levelAtBucketStart = new short[MAX_EXPERIENCE / BUCKET_WIDTH + 1];
+        for (int bucket = 0; bucket < levelAtBucketStart.length; bucket++) {
+            int index = Arrays.binarySearch(thresholds, bucket * BUCKET_WIDTH);
+            // an experience between two thresholds has the level of the lower one
+            levelAtBucketStart[bucket] = (short) (index >= 0 ? index : -index - 2);
+        }
+    }
+
+    private static int threshold(int level) {
+        return 50 * level * (level + 1);
+    }
+
+    /**
+     * @param experience between 0 and the maximum experience, inclusive
+     */
+    public int level(int experience) {
+        if (experience < 0 || experience > MAX_EXPERIENCE) {
+            throw new IllegalArgumentException("Experience out of range: " + experience);
+        }
+        int level = levelAtBucketStart[experience / BUCKET_WIDTH];
+        return experience >= thresholds[level + 1] ? level + 1 : level;
+    }
+
+    /**
+     * @param level the level of the experience, as returned by {@link #level(int)}
+     */
+    public int experienceUntilNextLevel(int level, int experience) {
+        return thresholds[level + 1] - experience;
+    }
+}
@@ -0,0 +1,99 @@
+package com.game.service.impl;
+
+import com.game.cache.QueryResultCache;
+import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.BulkCreateResult;
+import com.game.controller.response.BulkItemError;
+import com.game.entity.Player;
+import com.game.exception.ValidationException;
+import com.game.service.PlayerBulkService;
+import com.game.service.PlayerService;
+import com.game.service.PlayerValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class PlayerBulkServiceImpl implements PlayerBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerBulkServiceImpl.class);
+
+    private final PlayerValidationService validationService;
+    private final PlayerService playerService;
+    private final PlayerChunkWriter chunkWriter;
+    private final QueryResultCache queryCache;
+    private final int batchSize;
+    private final int maxItems;
+
+    public PlayerBulkServiceImpl(PlayerValidationService validationService,
+                                 PlayerService playerService,
+                                 PlayerChunkWriter chunkWriter,
+                                 QueryResultCache queryCache,
+                                 @Value("${player.bulk.batch-size:500}") int batchSize,
+                                 @Value("${player.bulk.max-items:10000}") int maxItems) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("player.bulk.batch-size must be positive");
+        }
+        this.validationService = validationService;
+        this.playerService = playerService;
+        this.chunkWriter = chunkWriter;
+        this.queryCache = queryCache;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public BulkCreateResult createAll(List<PlayerDTO> players) {
+        if (Objects.isNull(players)) {
+            throw new ValidationException("Players are null");
+        }
+        if (players.size() > maxItems) {
+            throw new ValidationException(String.format("At most %d players can be created at once", maxItems));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating {} players in batches of {}.", players.size(), batchSize);
+        }
+
+        List<Player> valid = new ArrayList<>(players.size());
+        List<Long> validIndexes = new ArrayList<>(players.size());
+        List<BulkItemError> errors = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) {
+            PlayerDTO playerDTO = players.get(i);
+            try {
+                validationService.validateCreateRequest(playerDTO);
+            } catch (ValidationException e) {
+                errors.add(new BulkItemError(i, e.getMessage()));
+                continue;
+            }
+            valid.add(playerService.create(playerDTO));
+            validIndexes.add((long) i);
+        }
+
+        try {
+            for (int from = 0; from < valid.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, valid.size());
+                chunkWriter.insert(valid.subList(from, to), validIndexes.subList(from, to), errors);
+            }
+        } finally {
+            queryCache.invalidate();
+        }
+
+        List<Long> ids = new ArrayList<>(valid.size());
+        for (Player player : valid) {
+            if (Objects.nonNull(player.getId())) {
+                ids.add(player.getId());
+            }
+        }
+        errors.sort((left, right) -> Long.compare(left.getIndex(), right.getIndex()));
+        if (log.isDebugEnabled()) {
+            log.debug("Created {} of {} players.", ids.size(), players.size());
+        }
+        return new BulkCreateResult(players.size(), Collections.unmodifiableList(ids), Collections.unmodifiableList(errors));
+    }
+}
@@ -0,0 +1,67 @@
+package com.game.service.impl;
+
+import com.game.controller.response.BulkItemError;
+import com.game.entity.Player;
+import com.game.index.PlayerIndex;
+import com.game.repository.PlayerBatchWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inserts validated players chunk by chunk for the bulk create and import paths
+ * and adds the committed ones to the {@link PlayerIndex}.
+ */
+@Component
+class PlayerChunkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerChunkWriter.class);
+
+    private final PlayerBatchWriter batchWriter;
+    private final PlayerIndex playerIndex;
+    private final TransactionTemplate transaction;
+
+    PlayerChunkWriter(PlayerBatchWriter batchWriter, PlayerIndex playerIndex, PlatformTransactionManager transactionManager) {
+        this.batchWriter = batchWriter;
+        this.playerIndex = playerIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Inserts the chunk in one transaction. If the database rejects the batch, the chunk is retried
+     * row by row so that only the offending rows are reported.
+     *
+     * @param indexes position of each player in the request, used for error reports
+     * @return number of inserted players; the others have no id and are reported in errors
+     */
+    int insert(List<Player> chunk, List<Long> indexes, List<BulkItemError> errors) {
+        try {
+            transaction.executeWithoutResult(status -> batchWriter.insert(chunk));
+            playerIndex.putAll(chunk);
+            return chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Batch of {} players failed, retrying one by one. {}", chunk.size(), e.getMessage());
+            chunk.forEach(player -> player.setId(null));
+        }
+
+        int inserted = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            Player player = chunk.get(i);
+            try {
+                transaction.executeWithoutResult(status -> batchWriter.insert(Collections.singletonList(player)));
+                playerIndex.put(player);
+                inserted++;
+            } catch (DataAccessException e) {
+                player.setId(null);
+                errors.add(new BulkItemError(indexes.get(i), e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return inserted;
+    }
+}
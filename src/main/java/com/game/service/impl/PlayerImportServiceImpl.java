@@ -0,0 +1,406 @@
+package com.game.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.game.cache.QueryResultCache;
+import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.BulkItemError;
+import com.game.controller.response.ImportStatus;
+import com.game.entity.Player;
+import com.game.exception.ValidationException;
+import com.game.service.PlayerImportService;
+import com.game.service.PlayerService;
+import com.game.service.PlayerValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports players in three stages connected by a bounded queue:
+ * <ol>
+ *     <li>the calling thread parses records and cuts them into chunks of {@code player.bulk.batch-size},</li>
+ *     <li>chunks are validated and converted in parallel on the validation pool,</li>
+ *     <li>one writer thread takes the validated chunks in file order and inserts each in its own transaction.</li>
+ * </ol>
+ * The queue holds at most {@code player.import.queue-capacity} chunks in flight, so a slow database
+ * blocks the parser instead of buffering the file in memory. A writer that ends early, interrupted
+ * for instance, stops draining the queue, so the parser waits on it only while the writer is alive.
+ */
+@Service
+public class PlayerImportServiceImpl implements PlayerImportService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerImportServiceImpl.class);
+
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private static final Future<ValidatedChunk> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    // how often a parser waiting on a full queue checks that the writer is still there
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final PlayerValidationService validationService;
+    private final PlayerService playerService;
+    private final PlayerChunkWriter chunkWriter;
+    private final QueryResultCache queryCache;
+    private final Path importDirectory;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    private final ObjectReader jsonReader = new ObjectMapper().readerFor(PlayerDTO.class);
+    private final ObjectReader csvReader = new CsvMapper().readerFor(PlayerDTO.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final ExecutorService validationExecutor;
+    private final ExecutorService pipelineExecutor;
+
+    private final AtomicLong jobIds = new AtomicLong();
+    private final ConcurrentNavigableMap<Long, ImportJob> jobs = new ConcurrentSkipListMap<>();
+
+    public PlayerImportServiceImpl(PlayerValidationService validationService,
+                                   PlayerService playerService,
+                                   PlayerChunkWriter chunkWriter,
+                                   QueryResultCache queryCache,
+                                   @Value("${player.import.directory:/var/lib/rpg/import}") String importDirectory,
+                                   @Value("${player.bulk.batch-size:500}") int batchSize,
+                                   @Value("${player.import.queue-capacity:8}") int queueCapacity,
+                                   @Value("${player.import.validation-threads:0}") int validationThreads) {
+        this.validationService = validationService;
+        this.playerService = playerService;
+        this.chunkWriter = chunkWriter;
+        this.queryCache = queryCache;
+        this.importDirectory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.validationExecutor = Executors.newFixedThreadPool(threads, daemonThreads("player-import-validation-"));
+        this.pipelineExecutor = Executors.newCachedThreadPool(daemonThreads("player-import-"));
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    @Override
+    public void destroy() {
+        pipelineExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    @Override
+    public ImportStatus importStream(InputStream input, Format format) {
+        ImportJob job = register("request body", format);
+        run(job, input, format);
+        return job.snapshot();
+    }
+
+    @Override
+    public ImportStatus startFileImport(String fileName, Format format) {
+        Path file = resolve(fileName);
+        ImportJob job = register(file.toString(), format);
+        pipelineExecutor.execute(() -> {
+            try (InputStream input = Files.newInputStream(file)) {
+                run(job, input, format);
+            } catch (IOException e) {
+                job.fail(e.getMessage());
+            }
+        });
+        return job.snapshot();
+    }
+
+    @Override
+    public Optional<ImportStatus> findStatus(long id) {
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::snapshot);
+    }
+
+    /**
+     * Resolves the name inside the import directory; names that point anywhere else are rejected.
+     */
+    private Path resolve(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new ValidationException("File has invalid value");
+        }
+        Path file = importDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(importDirectory) || !Files.isRegularFile(file) || !Files.isReadable(file)) {
+            log.warn("Invalid import file. File {}.", fileName);
+            throw new ValidationException("File has invalid value");
+        }
+        return file;
+    }
+
+    private ImportJob register(String source, Format format) {
+        ImportJob job = new ImportJob(jobIds.incrementAndGet(), source, format.name());
+        jobs.put(job.getId(), job);
+        Iterator<ImportJob> oldest = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && oldest.hasNext()) {
+            ImportJob retained = oldest.next();
+            if (!retained.isRunning()) {
+                oldest.remove();
+            }
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, InputStream input, Format format) {
+        log.info("Import {} started. Source {}, format {}.", job.getId(), job.getSource(), format);
+        BlockingQueue<Future<ValidatedChunk>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> writer = pipelineExecutor.submit(() -> {
+            write(job, pending);
+            return null;
+        });
+        try {
+            read(job, input, format, pending, writer);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import {} failed while reading. {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        }
+
+        try {
+            enqueue(END_OF_INPUT, pending, writer);
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            job.fail("Interrupted");
+        } catch (ExecutionException e) {
+            job.fail(e.getCause().getMessage());
+        }
+        // left behind by a writer that ended early
+        Future<ValidatedChunk> abandoned;
+        while ((abandoned = pending.poll()) != null) {
+            abandoned.cancel(false);
+        }
+        job.complete();
+
+        ImportStatus status = job.snapshot();
+        log.info("Import {} {}. Read {}, created {}, failed {} in {} ms ({} rows/s).", status.getId(), status.getState(),
+                status.getRead(), status.getCreated(), status.getFailed(), status.getElapsedMs(), status.getRowsPerSecond());
+    }
+
+    private void read(ImportJob job, InputStream input, Format format, BlockingQueue<Future<ValidatedChunk>> pending,
+                      Future<?> writer) throws IOException, InterruptedException {
+        try (RecordReader reader = format == Format.CSV ? new CsvRecordReader(input) : new NdjsonRecordReader(input)) {
+            List<Record> chunk = new ArrayList<>(batchSize);
+            Record record;
+            while (job.isRunning() && (record = reader.next()) != null) {
+                job.recordRead();
+                chunk.add(record);
+                if (chunk.size() == batchSize) {
+                    if (!submit(chunk, pending, writer)) {
+                        return;
+                    }
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, pending, writer);
+            }
+        }
+    }
+
+    /**
+     * @return false if the writer has ended and the chunk was dropped
+     */
+    private boolean submit(List<Record> chunk, BlockingQueue<Future<ValidatedChunk>> pending,
+                           Future<?> writer) throws InterruptedException {
+        // blocks while the writer is queueCapacity chunks behind
+        return enqueue(validationExecutor.submit(() -> validate(chunk)), pending, writer);
+    }
+
+    /**
+     * Waits for room in the queue as long as the writer runs. Once it has ended nothing takes from
+     * the queue any more, and the chunk is cancelled instead.
+     *
+     * @return false if the writer has ended
+     */
+    private static boolean enqueue(Future<ValidatedChunk> chunk, BlockingQueue<Future<ValidatedChunk>> pending,
+                                   Future<?> writer) throws InterruptedException {
+        while (!pending.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                chunk.cancel(false);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ValidatedChunk validate(List<Record> records) {
+        ValidatedChunk chunk = new ValidatedChunk(records.size());
+        for (Record record : records) {
+            if (record.error != null) {
+                chunk.errors.add(new BulkItemError(record.index, record.error));
+                continue;
+            }
+            try {
+                validationService.validateCreateRequest(record.player);
+            } catch (ValidationException e) {
+                chunk.errors.add(new BulkItemError(record.index, e.getMessage()));
+                continue;
+            }
+            chunk.players.add(playerService.create(record.player));
+            chunk.indexes.add(record.index);
+        }
+        return chunk;
+    }
+
+    private void write(ImportJob job, BlockingQueue<Future<ValidatedChunk>> pending) throws InterruptedException {
+        Future<ValidatedChunk> next;
+        while ((next = pending.take()) != END_OF_INPUT) {
+            if (!job.isRunning()) {
+                next.cancel(false);
+                continue;
+            }
+            try {
+                ValidatedChunk chunk = next.get();
+                int created = chunkWriter.insert(chunk.players, chunk.indexes, chunk.errors);
+                queryCache.invalidate();
+                job.recordCreated(created);
+                job.recordErrors(chunk.errors);
+            } catch (ExecutionException | RuntimeException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                log.warn("Import {} failed while writing. {}", job.getId(), cause.getMessage());
+                job.fail(cause.getMessage());
+            }
+        }
+    }
+
+    private static final class Record {
+
+        private final long index;
+        private final PlayerDTO player;
+        private final String error;
+
+        private Record(long index, PlayerDTO player, String error) {
+            this.index = index;
+            this.player = player;
+            this.error = error;
+        }
+    }
+
+    private static final class ValidatedChunk {
+
+        private final List<Player> players;
+        private final List<Long> indexes;
+        private final List<BulkItemError> errors = new ArrayList<>();
+
+        private ValidatedChunk(int size) {
+            this.players = new ArrayList<>(size);
+            this.indexes = new ArrayList<>(size);
+        }
+    }
+
+    /**
+     * Parses records one at a time. A record that cannot be parsed is returned with an error
+     * instead of failing the import.
+     */
+    private interface RecordReader extends Closeable {
+
+        /**
+         * @return the next record, or null at the end of the input
+         */
+        Record next() throws IOException;
+    }
+
+    private final class NdjsonRecordReader implements RecordReader {
+
+        private final BufferedReader reader;
+        private long index;
+
+        private NdjsonRecordReader(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Record next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+
+            long recordIndex = index++;
+            try {
+                return new Record(recordIndex, jsonReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Record(recordIndex, null, "Malformed record: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private final class CsvRecordReader implements RecordReader {
+
+        private final Reader reader;
+        private final MappingIterator<PlayerDTO> records;
+        private long index;
+
+        private CsvRecordReader(InputStream input) throws IOException {
+            this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+            this.records = csvReader.readValues(reader);
+        }
+
+        @Override
+        public Record next() throws IOException {
+            // after a bad row the iterator skips to the next one
+            if (!records.hasNextValue()) {
+                return null;
+            }
+            long recordIndex = index++;
+            try {
+                return new Record(recordIndex, records.nextValue(), null);
+            } catch (JsonProcessingException e) {
+                return new Record(recordIndex, null, "Malformed record: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+            reader.close();
+        }
+    }
+}
@@ -1,55 +1,120 @@
 package com.game.service.impl;
 
-import com.game.controller.PlayerOrder;
+import com.game.cache.PlayerCache;
+import com.game.cache.QueryResultCache;
 import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.PlayerFacets;
+import com.game.controller.response.PlayerPage;
+import com.game.controller.response.PlayerSlice;
 import com.game.entity.Player;
 import com.game.entity.Profession;
 import com.game.entity.Race;
+import com.game.exception.ValidationException;
+import com.game.index.PlayerIndex;
+import com.game.metrics.QueryStatistics;
+import com.game.metrics.RequestMetrics;
 import com.game.repository.PlayerRepository;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import com.game.repository.query.PlayerUpdate;
+import com.game.repository.query.SeekCursor;
 import com.game.service.PlayerService;
-import com.game.util.DateUtils;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
-import java.math.BigInteger;
-import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 
+/**
+ * Logs only what the per-request summary of {@code RequestMetricsInterceptor} does not show,
+ * with arguments that cost nothing while the level is off.
+ */
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
     private static final Logger log = LoggerFactory.getLogger(PlayerServiceImpl.class);
-    public static final String PAGE_NUMBER = "pageNumber";
-    public static final String PAGE_SIZE = "pageSize";
-    public static final String ORDER = "order";
 
     private final PlayerRepository repository;
+    private final PlayerQueryFactory queryFactory;
+    private final LevelCalculator levelCalculator;
+    private final PlayerCache playerCache;
+    private final QueryResultCache queryCache;
+    private final PlayerIndex playerIndex;
+    private final QueryStatistics queryStatistics;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final boolean windowCount;
+    private final int exportFetchSize;
+    private final int levelBucket;
+    private final int maxDeleteIds;
+    private final UpdateSequencer updateSequencer = new UpdateSequencer();
 
     @PersistenceContext
     private EntityManager entityManager;
 
 
-    public PlayerServiceImpl(PlayerRepository repository) {
+    public PlayerServiceImpl(PlayerRepository repository,
+                             PlayerQueryFactory queryFactory,
+                             LevelCalculator levelCalculator,
+                             PlayerCache playerCache,
+                             QueryResultCache queryCache,
+                             PlayerIndex playerIndex,
+                             QueryStatistics queryStatistics,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${player.page.window-count:false}") boolean windowCount,
+                             @Value("${player.export.fetch-size:1000}") int exportFetchSize,
+                             @Value("${player.facets.level-bucket:10}") int levelBucket,
+                             @Value("${player.bulk.max-delete-ids:1000}") int maxDeleteIds) {
+        if (levelBucket < 1) {
+            throw new IllegalArgumentException("player.facets.level-bucket must be positive");
+        }
+        if (maxDeleteIds < 1) {
+            throw new IllegalArgumentException("player.bulk.max-delete-ids must be positive");
+        }
         this.repository = repository;
+        this.queryFactory = queryFactory;
+        this.levelCalculator = levelCalculator;
+        this.playerCache = playerCache;
+        this.queryCache = queryCache;
+        this.playerIndex = playerIndex;
+        this.queryStatistics = queryStatistics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.windowCount = windowCount;
+        this.exportFetchSize = exportFetchSize;
+        this.levelBucket = levelBucket;
+        this.maxDeleteIds = maxDeleteIds;
     }
 
     @Override
     public Player create(PlayerDTO playerDTO) {
-        log.debug("Creating new person. Create person request {}.", playerDTO);
-        Integer experience = playerDTO.getExperience();
-        int currentLevel = computePersonCurrentLevel(experience);
-        int expUntilNextLevel = computeExperienceUntilNextLevel(currentLevel, experience);
+        int experience = playerDTO.getExperience();
+        int currentLevel = levelCalculator.level(experience);
+        int expUntilNextLevel = levelCalculator.experienceUntilNextLevel(currentLevel, experience);
 
         Player player = new Player();
-        player.setBanned(playerDTO.getBanned());
+        player.setBanned(Boolean.TRUE.equals(playerDTO.getBanned()));
         player.setLevel(currentLevel);
         player.setBirthday(new Date(playerDTO.getBirthday()));
         player.setName(playerDTO.getName());
-        player.setExperience(playerDTO.getExperience());
+        player.setExperience(experience);
         player.setProfession(playerDTO.getProfession());
         player.setRace(playerDTO.getRace());
         player.setTitle(playerDTO.getTitle());
@@ -60,149 +125,333 @@ public class PlayerServiceImpl implements PlayerService {
 
     @Override
     public Player save(Player player) {
-        log.debug("Saving person. Person {}.", player);
         Player saved = repository.save(player);
-        log.trace("Successfully saved person. Person {}.", saved);
+        playerCache.put(saved);
+        playerIndex.put(saved);
+        queryCache.invalidate();
         return saved;
     }
 
     @Override
-    public void delete(Long id) {
-        log.debug("Deleting person. Id {}.", id);
-        repository.deleteById(id);
+    public boolean delete(Long id) {
+        boolean deleted = repository.deletePlayerById(id) > 0;
+        playerCache.evict(id);
+        if (deleted) {
+            playerIndex.remove(id);
+            queryCache.invalidate();
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteAll(Collection<Long> ids) {
+        if (ids.size() > maxDeleteIds) {
+            throw new ValidationException(String.format("At most %d players can be deleted at once", maxDeleteIds));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = repository.deletePlayersByIdIn(ids);
+        ids.forEach(playerCache::evict);
+        if (deleted > 0) {
+            playerIndex.removeAll(ids);
+            queryCache.invalidate();
+        }
+        return deleted;
     }
 
     @Override
     public Optional<Player> findById(Long id) {
-        log.debug("Searching person. Id {}.", id);
-        return repository.findById(id);
+        return playerCache.get(id, repository::findById);
     }
 
     @Override
     public List<Player> findAllByParams(Map<String, String> params) {
-        String pageNumberStr = params.remove(PAGE_NUMBER);
-        String pageSizeStr = params.remove(PAGE_SIZE);
-        String orderStr = params.remove(ORDER);
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return queryCache.get(QueryResultCache.Kind.LIST, criteria,
+                () -> playerIndex.findAll(criteria).map(Collections::unmodifiableList)
+                        .orElseGet(() -> narrow(criteria).map(this::findAll).orElse(Collections.emptyList())));
+    }
 
-        int pageNumber = pageNumberStr == null ? PlayerRepository.DEFAULT_PAGE_NUMBER : Integer.parseInt(pageNumberStr);
-        int pageSize = pageSizeStr == null ? PlayerRepository.DEFAULT_PAGE_SIZE : Integer.parseInt(pageSizeStr);
-        PlayerOrder order = orderStr == null ? PlayerOrder.ID : PlayerOrder.valueOf(orderStr);
+    @Override
+    public int countAllByParams(Map<String, String> params) {
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return queryCache.get(QueryResultCache.Kind.COUNT, criteria,
+                () -> playerIndex.count(criteria).orElseGet(() -> narrow(criteria).map(this::count).orElse(0)));
+    }
 
-        StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append(PlayerRepository.SELECT_FROM_PLAYER);
-        constructSqlConditions(params, sqlBuilder);
-        constructSqlOrder(sqlBuilder, order);
+    @Override
+    public PlayerFacets findFacetsByParams(Map<String, String> params) {
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return queryCache.get(QueryResultCache.Kind.FACETS, criteria, () -> facets(criteria));
+    }
 
-        Query query = entityManager.createNativeQuery(sqlBuilder.toString(), Player.class)
-                .setFirstResult(pageSize * pageNumber)
-                .setMaxResults(pageSize);
+    @Override
+    public PlayerPage findPageByParams(Map<String, String> params) {
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return queryCache.get(QueryResultCache.Kind.PAGE, criteria, () -> narrow(criteria)
+                .map(narrowed -> readOnlyTransaction.execute(status -> findPage(narrowed)))
+                .orElseGet(() -> new PlayerPage(Collections.emptyList(), 0)));
+    }
 
-        return query.getResultList();
+    @Override
+    public PlayerSlice findSliceByParams(Map<String, String> params) {
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return queryCache.get(QueryResultCache.Kind.SLICE, criteria,
+                () -> narrow(criteria).map(this::findSlice).orElseGet(() -> new PlayerSlice(Collections.emptyList(), null)));
     }
 
     @Override
-    public int countAllByParams(Map<String, String> params) {
-        StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append(PlayerRepository.SELECT_COUNT_FROM_PLAYER);
-        constructSqlConditions(params, sqlBuilder);
-        Query query = entityManager.createNativeQuery(sqlBuilder.toString());
-        BigInteger result = (BigInteger) query.getSingleResult();
+    public long exportAllByParams(Map<String, String> params, Consumer<Player> consumer) {
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+        return narrow(criteria).map(narrowed -> readOnlyTransaction.execute(status -> export(narrowed, consumer)))
+                .orElse(0L);
+    }
+
+    /**
+     * The criteria restricted to the candidates of the index, or empty if there are none and
+     * nothing matches. Without candidates the criteria are returned as they are.
+     */
+    private Optional<PlayerCriteria> narrow(PlayerCriteria criteria) {
+        Optional<long[]> candidates = playerIndex.candidates(criteria);
+        if (!candidates.isPresent()) {
+            return Optional.of(criteria);
+        }
+        long[] ids = candidates.get();
+        return ids.length == 0 ? Optional.empty() : Optional.of(criteria.withCandidates(ids));
+    }
+
+    private long export(PlayerCriteria criteria, Consumer<Player> consumer) {
+        PlayerQuery playerQuery = queryFactory.select(criteria);
+
+        Session session = entityManager.unwrap(Session.class);
+        NativeQuery<?> query = playerQuery.bind(session.createNativeQuery(playerQuery.getSql(), Player.class));
+        query.setFetchSize(exportFetchSize);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+
+        long exported = 0;
+        // only opening the cursor is timed, reading it is paced by the consumer
+        try (ScrollableResults results = queryStatistics.record(playerQuery, () -> query.scroll(ScrollMode.FORWARD_ONLY))) {
+            while (results.next()) {
+                Player player = (Player) results.get(0);
+                consumer.accept(player);
+                session.evict(player);
+                exported++;
+            }
+        }
+        RequestMetrics.addRows(exported);
+        return exported;
+    }
+
+    private PlayerPage findPage(PlayerCriteria criteria) {
+        if (!windowCount) {
+            return new PlayerPage(findAll(criteria), count(criteria));
+        }
+
+        PlayerQuery playerQuery = queryFactory.selectWithTotal(criteria);
+        Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql(), PlayerRepository.PLAYER_WITH_TOTAL_MAPPING))
+                .setFirstResult(criteria.getOffset())
+                .setMaxResults(criteria.getPageSize());
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = queryStatistics.record(playerQuery, query::getResultList);
+
+        if (rows.isEmpty()) {
+            // a page past the end carries no total, only a count can tell
+            return new PlayerPage(Collections.emptyList(), criteria.getOffset() == 0 ? 0 : count(criteria));
+        }
+
+        List<Player> players = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            players.add((Player) row[0]);
+        }
+        int total = ((Number) rows.get(0)[1]).intValue();
+        return new PlayerPage(Collections.unmodifiableList(players), total);
+    }
+
+    private PlayerSlice findSlice(PlayerCriteria criteria) {
+        PlayerQuery playerQuery = queryFactory.seek(criteria);
+
+        int pageSize = criteria.getPageSize();
+        Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql(), Player.class))
+                .setMaxResults(pageSize + 1);
+        @SuppressWarnings("unchecked")
+        List<Player> players = queryStatistics.record(playerQuery, query::getResultList);
+
+        if (players.size() <= pageSize) {
+            return new PlayerSlice(Collections.unmodifiableList(players), null);
+        }
+        players = players.subList(0, pageSize);
+        SeekCursor next = SeekCursor.after(players.get(pageSize - 1), criteria.getOrder());
+        return new PlayerSlice(Collections.unmodifiableList(players), next.encode());
+    }
+
+    private List<Player> findAll(PlayerCriteria criteria) {
+        PlayerQuery playerQuery = queryFactory.select(criteria);
+
+        Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql(), Player.class))
+                .setFirstResult(criteria.getOffset())
+                .setMaxResults(criteria.getPageSize());
+
+        @SuppressWarnings("unchecked")
+        List<Player> players = queryStatistics.record(playerQuery, query::getResultList);
+        return Collections.unmodifiableList(players);
+    }
+
+    private int count(PlayerCriteria criteria) {
+        PlayerQuery playerQuery = queryFactory.count(criteria);
+
+        Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql()));
+        Number result = (Number) queryStatistics.record(playerQuery, query::getSingleResult);
         return result.intValue();
     }
 
+    /**
+     * Sums the race x profession x level bucket groups into the three facets. The database buckets
+     * the levels, so with the default width of 10 there are at most a few hundred groups however
+     * many players match.
+     */
+    private PlayerFacets facets(PlayerCriteria criteria) {
+        List<Object[]> groups = narrow(criteria).map(this::facetGroups).orElse(Collections.emptyList());
+
+        int total = 0;
+        Map<Race, Integer> races = new EnumMap<>(Race.class);
+        for (Race race : Race.values()) {
+            races.put(race, 0);
+        }
+        Map<Profession, Integer> professions = new EnumMap<>(Profession.class);
+        for (Profession profession : Profession.values()) {
+            professions.put(profession, 0);
+        }
+        Map<Integer, Integer> levels = new TreeMap<>();
+        for (Object[] group : groups) {
+            int count = ((Number) group[3]).intValue();
+            total += count;
+            if (group[0] != null) {
+                races.merge(Race.valueOf((String) group[0]), count, Integer::sum);
+            }
+            if (group[1] != null) {
+                professions.merge(Profession.valueOf((String) group[1]), count, Integer::sum);
+            }
+            if (group[2] != null) {
+                levels.merge(((Number) group[2]).intValue() * levelBucket, count, Integer::sum);
+            }
+        }
+        return new PlayerFacets(total, Collections.unmodifiableMap(races), Collections.unmodifiableMap(professions),
+                levelBucket, Collections.unmodifiableMap(levels));
+    }
+
+    private List<Object[]> facetGroups(PlayerCriteria criteria) {
+        PlayerQuery playerQuery = queryFactory.facets(criteria, levelBucket);
+
+        Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql()));
+        @SuppressWarnings("unchecked")
+        List<Object[]> groups = queryStatistics.record(playerQuery, query::getResultList);
+        return groups;
+    }
+
     @Override
     public Optional<Player> update(Long id, PlayerDTO playerDTO) {
-        Optional<Player> existingPlayer = findById(id);
-        if (existingPlayer.isPresent()) {
-            Player player = updateNonNullableFields(existingPlayer.get(), playerDTO);
-            repository.save(player);
+        PlayerUpdate update = toUpdate(playerDTO);
+        if (update.isEmpty()) {
+            return findById(id);
+        }
+        log.debug("Updating person. Id {}, update {}.", id, update);
+
+        PlayerQuery playerQuery = queryFactory.update(id, update);
+        int updated = writeTransaction.execute(status -> {
+            Query query = playerQuery.bind(entityManager.createNativeQuery(playerQuery.getSql()));
+            int rows = queryStatistics.record(playerQuery, query::executeUpdate);
+            if (rows > 0) {
+                // the cache and index are patched once committed: a load racing the update must not
+                // keep a row that never was, nor miss one that was
+                UpdateSequencer.Ticket ticket = updateSequencer.take(id);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int completion) {
+                        patchAfter(completion, id, update, ticket);
+                    }
+                });
+            }
+            return rows;
+        });
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        if (update.isComplete()) {
+            Player player = new Player();
+            player.setId(id);
+            return Optional.of(update.applyTo(player));
         }
-        return existingPlayer;
+        // MySQL has no UPDATE ... RETURNING: the columns the request leaves out come from the cache
+        // entry if the player is cached, otherwise from one read of the row. Either way the response
+        // carries the values as requested, like a loaded and saved entity.
+        return findById(id).map(update::applyTo);
     }
 
-    private Player updateNonNullableFields(Player player, PlayerDTO playerDTO) {
+    private void patchAfter(int completion, Long id, PlayerUpdate update, UpdateSequencer.Ticket ticket) {
+        if (completion == TransactionSynchronization.STATUS_COMMITTED) {
+            updateSequencer.end(ticket, () -> {
+                playerCache.update(id, update::applyTo);
+                playerIndex.update(id, update::applyTo);
+                // results cached while the patch was held back were built from the unpatched index
+                queryCache.invalidate();
+            });
+            return;
+        }
+        updateSequencer.end(ticket, null);
+        if (completion == TransactionSynchronization.STATUS_UNKNOWN) {
+            // the commit may have gone through; the index has no expiry and only a reload fixes it
+            playerCache.evict(id);
+            playerIndex.invalidate();
+            queryCache.invalidate();
+        }
+    }
+
+    /**
+     * Collects the non-null fields of the request; a new experience also sets level and
+     * experience until next level, so that all of them are written by the same statement.
+     */
+    private PlayerUpdate toUpdate(PlayerDTO playerDTO) {
+        PlayerUpdate update = new PlayerUpdate();
+
         String name = playerDTO.getName();
         if (Objects.nonNull(name)) {
-            player.setName(name);
+            update.set(PlayerUpdate.Column.NAME, name);
         }
 
-
         String title = playerDTO.getTitle();
         if (Objects.nonNull(title)) {
-            player.setTitle(title);
+            update.set(PlayerUpdate.Column.TITLE, title);
         }
 
         Long birthday = playerDTO.getBirthday();
         if (Objects.nonNull(birthday)) {
-            player.setBirthday(new Date(birthday));
+            update.set(PlayerUpdate.Column.BIRTHDAY, new Date(birthday));
         }
 
-
         Integer experience = playerDTO.getExperience();
-        if (Objects.nonNull(experience) && !experience.equals(player.getExperience())) {
-            int computePersonCurrentLevel = computePersonCurrentLevel(experience);
-            player.setLevel(computePersonCurrentLevel);
-            int computeExperienceUntilNextLevel = computeExperienceUntilNextLevel(player.getLevel(), experience);
-            player.setUntilNextLevel(computeExperienceUntilNextLevel);
-            player.setExperience(experience);
+        if (Objects.nonNull(experience)) {
+            int currentLevel = levelCalculator.level(experience);
+            update.set(PlayerUpdate.Column.EXPERIENCE, experience)
+                    .set(PlayerUpdate.Column.LEVEL, currentLevel)
+                    .set(PlayerUpdate.Column.UNTIL_NEXT_LEVEL, levelCalculator.experienceUntilNextLevel(currentLevel, experience));
         }
 
         Profession profession = playerDTO.getProfession();
         if (Objects.nonNull(profession)) {
-            player.setProfession(profession);
+            update.set(PlayerUpdate.Column.PROFESSION, profession);
         }
 
         Race race = playerDTO.getRace();
         if (Objects.nonNull(race)) {
-            player.setRace(race);
+            update.set(PlayerUpdate.Column.RACE, race);
         }
 
         Boolean banned = playerDTO.getBanned();
         if (Objects.nonNull(banned)) {
-            player.setBanned(banned);
+            update.set(PlayerUpdate.Column.BANNED, banned);
         }
-        return player;
-    }
-
-    private int computePersonCurrentLevel(Integer experience) {
-        log.debug("Computing person current level. Person experience {}.", experience);
-        int currentLevel = (int) ((Math.sqrt(2500d + 200 * experience) - 50) / 100);
-        log.debug("Computed current level {}.", currentLevel);
-        return currentLevel;
-    }
-
-    private int computeExperienceUntilNextLevel(int currentLevel, Integer experience) {
-        log.debug("Computing person experience until next level. Current level {}, amount of experience {}.", currentLevel, experience);
-        int expUntilNextLevel = 50 * (currentLevel + 1) * (currentLevel + 2) - experience;
-        log.debug("Computed person experience until next level. Computed amount of experience {}.", experience);
-        return expUntilNextLevel;
-    }
-
-    private void constructSqlConditions(Map<String, String> params, StringBuilder sqlBuilder) {
-        params.forEach((param, value) -> {
-            if (param.startsWith("min")) {
-                String column = param.substring(3).toLowerCase(Locale.ROOT);
-                sqlBuilder.append(String.format(" AND %s >= %s", column, value));
-            } else if (param.startsWith("max")) {
-                String column = param.substring(3).toLowerCase(Locale.ROOT);
-                sqlBuilder.append(String.format(" AND %s <= %s", column, value));
-            } else if (param.equals("after")) {
-                long milliseconds = Long.parseLong(value);
-                LocalDate after = DateUtils.toLocalDate(milliseconds);
-                sqlBuilder.append(String.format(" AND %s >= '%s'", "birthday", after.toString()));
-            } else if (param.equals("before")) {
-                long milliseconds = Long.parseLong(value);
-                LocalDate before = DateUtils.toLocalDate(milliseconds);
-                sqlBuilder.append(String.format(" AND %s <= '%s'", "birthday", before.toString()));
-            } else if (param.equals("banned") || param.equals("race") || param.equals("profession")) {
-                sqlBuilder.append(String.format(" AND %s = '%s'", param, value));
-            } else {
-                sqlBuilder.append(String.format(" AND %s LIKE '%%%s%%'", param, value));
-            }
-        });
-    }
-
-    private void constructSqlOrder(StringBuilder sqlBuilder, PlayerOrder order) {
-        sqlBuilder.append(String.format(" ORDER BY %s", order.getFieldName()));
+        return update;
     }
-}
\ No newline at end of file
+}
@@ -24,14 +24,13 @@ public class PlayerValidationServiceImpl implements PlayerValidationService {
     private static final Long MAX_BIRTHDAY_VALUE = 32_535_118_800_000L;
 
     private static final Integer MIN_EXPERIENCE_VALUE = 0;
-    private static final Integer MAX_EXPERIENCE_VALUE = 10_000_000;
+    static final int MAX_EXPERIENCE_VALUE = 10_000_000;
 
     private static final Integer MIN_PLAYER_ID = 1;
 
 
     @Override
     public void validateCreateRequest(PlayerDTO player) throws ValidationException {
-        log.debug("Validating create player request...");
         log.trace("Player {}.", player);
 
         if (Objects.isNull(player)) {
@@ -47,7 +46,7 @@ public class PlayerValidationServiceImpl implements PlayerValidationService {
 
         String title = player.getTitle();
         if (Objects.isNull(title) || !isValidTitle(title)) {
-            log.warn("Invalid player's field. Title {}.", name);
+            log.warn("Invalid player's field. Title {}.", title);
             throw new ValidationException("Title has invalid value");
         }
 
@@ -82,7 +81,6 @@ public class PlayerValidationServiceImpl implements PlayerValidationService {
 
     @Override
     public void validateUpdateRequest(PlayerDTO player) {
-        log.debug("Validating update player request...");
         log.trace("Player {}.", player);
 
         if (Objects.isNull(player)) {
@@ -98,7 +96,7 @@ public class PlayerValidationServiceImpl implements PlayerValidationService {
 
         String title = player.getTitle();
         if (Objects.nonNull(title) && !isValidTitle(title)) {
-            log.warn("Invalid player's field. Title {}.", name);
+            log.warn("Invalid player's field. Title {}.", title);
             throw new ValidationException("Title has invalid value");
         }
 
@@ -0,0 +1,96 @@
+package com.game.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the cache and index patches of the updates of one player in the order the updates
+ * committed, without a lock held across the database write. An update takes a ticket while its
+ * {@code UPDATE} holds the row lock, so the tickets of a player are taken in commit order. When the
+ * transaction ends, the patch runs as soon as every earlier ticket of the player has ended as well;
+ * an update that did not commit ends its ticket without a patch.
+ */
+final class UpdateSequencer {
+
+    private final ConcurrentMap<Long, Line> lines = new ConcurrentHashMap<>();
+
+    /**
+     * Must be called while the transaction holds the lock of the player's row.
+     */
+    Ticket take(Long id) {
+        while (true) {
+            Line line = lines.computeIfAbsent(id, key -> new Line());
+            line.lock.lock();
+            try {
+                // a line emptied in the meantime has left the map, a new one takes its place
+                if (!line.retired) {
+                    Ticket ticket = new Ticket(id, line);
+                    line.tickets.addLast(ticket);
+                    return ticket;
+                }
+            } finally {
+                line.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Ends the ticket, then runs its patch and those of the later tickets of the player that were
+     * waiting for it. Patches of other players do not wait.
+     *
+     * @param patch null if the update did not commit
+     */
+    void end(Ticket ticket, Runnable patch) {
+        Line line = ticket.line;
+        line.lock.lock();
+        try {
+            ticket.patch = patch;
+            ticket.ended = true;
+            while (!line.tickets.isEmpty() && line.tickets.peekFirst().ended) {
+                Runnable next = line.tickets.pollFirst().patch;
+                if (next != null) {
+                    next.run();
+                }
+            }
+            if (line.tickets.isEmpty()) {
+                line.retired = true;
+                lines.remove(ticket.id, line);
+            }
+        } finally {
+            line.lock.unlock();
+        }
+    }
+
+    int pendingPlayers() {
+        return lines.size();
+    }
+
+    static final class Ticket {
+
+        private final Long id;
+        private final Line line;
+        // guarded by the line's lock
+        private Runnable patch;
+        private boolean ended;
+
+        private Ticket(Long id, Line line) {
+            this.id = id;
+            this.line = line;
+        }
+    }
+
+    /**
+     * The tickets of one player not run yet, oldest first.
+     */
+    private static final class Line {
+
+        // not a monitor, so that a virtual thread waiting for it is not pinned
+        private final Lock lock = new ReentrantLock();
+        private final Deque<Ticket> tickets = new ArrayDeque<>();
+        private boolean retired;
+    }
+}
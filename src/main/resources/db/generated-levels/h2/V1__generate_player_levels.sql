@@ -0,0 +1,3 @@
+-- H2 counterpart of the MySQL migration, used by the dev profile.
+ALTER TABLE player ALTER COLUMN level INT AS (CAST(FLOOR((SQRT(2500 + 200 * experience) - 50) / 100) AS INT));
+ALTER TABLE player ALTER COLUMN untilNextLevel INT AS (50 * (level + 1) * (level + 2) - experience);
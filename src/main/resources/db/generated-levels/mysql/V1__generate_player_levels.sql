@@ -0,0 +1,7 @@
+-- Derives level and untilNextLevel from experience (player.schema.generated-levels=true).
+-- Both columns keep their names and the V2 indexes, MySQL 5.7+ maintains them on every write.
+-- level = floor((sqrt(2500 + 200 * experience) - 50) / 100)
+-- untilNextLevel = 50 * (level + 1) * (level + 2) - experience
+ALTER TABLE player
+    MODIFY COLUMN level INT(3) GENERATED ALWAYS AS (FLOOR((SQRT(2500 + 200 * experience) - 50) / 100)) STORED,
+    MODIFY COLUMN untilNextLevel INT(10) GENERATED ALWAYS AS (50 * (level + 1) * (level + 2) - experience) STORED;
@@ -0,0 +1,13 @@
+-- Indexes for the filters and orders of /rest/players and /rest/players/count.
+-- Equality filters (race, profession, banned) lead, the range column of the
+-- common combination comes last. Single-column range and order indexes end with
+-- id so keyset pages (ORDER BY col, id) are read straight from the index.
+
+CREATE INDEX idx_player_race_profession ON player (race, profession, banned);
+CREATE INDEX idx_player_profession_banned ON player (profession, banned);
+CREATE INDEX idx_player_banned_level ON player (banned, level);
+
+CREATE INDEX idx_player_experience ON player (experience, id);
+CREATE INDEX idx_player_level ON player (level, id);
+CREATE INDEX idx_player_birthday ON player (birthday, id);
+CREATE INDEX idx_player_name ON player (name, id);
@@ -0,0 +1,165 @@
+package com.game.cache;
+
+import com.game.entity.Player;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class CaffeinePlayerCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, Optional<Player>> loader = id -> {
+        loads.incrementAndGet();
+        return id > 100 ? Optional.empty() : Optional.of(player(id));
+    };
+
+    @Test
+    public void secondLookupIsServedFromCache() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        Player first = cache.get(1L, loader).get();
+        Player second = cache.get(1L, loader).get();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        CacheStatistics statistics = cache.statistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+    }
+
+    @Test
+    public void unknownIdIsNotCached() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        assertFalse(cache.get(500L, loader).isPresent());
+        assertFalse(cache.get(500L, loader).isPresent());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void entriesExpireAfterWrite() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        cache.get(1L, loader);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        cache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.statistics().getEvictions());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        for (long id = 1; id <= 50; id++) {
+            cache.get(id, loader);
+        }
+
+        assertEquals(10, cache.statistics().getSize());
+        assertEquals(40, cache.statistics().getEvictions());
+    }
+
+    @Test
+    public void evictedEntryIsReloaded() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        cache.get(1L, loader);
+        cache.evict(1L);
+        cache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void updateReplacesOnlyCachedPlayers() {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+        cache.get(1L, loader);
+
+        cache.update(1L, cached -> player(cached.getId(), "Updated"));
+        cache.update(2L, cached -> player(cached.getId(), "Updated"));
+
+        assertEquals("Updated", cache.get(1L, loader).get().getName());
+        assertEquals("Player2", cache.get(2L, loader).get().getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evictionDuringALoadWins() throws Exception {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        raceWithLoad(cache, () -> cache.evict(1L));
+        cache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void updateDuringALoadAppliesToTheLoadedPlayer() throws Exception {
+        CaffeinePlayerCache cache = new CaffeinePlayerCache(10, Duration.ofMinutes(5), ticker);
+
+        raceWithLoad(cache, () -> cache.update(1L, cached -> player(cached.getId(), "Updated")));
+
+        assertEquals("Updated", cache.get(1L, loader).get().getName());
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Loads player 1 on another thread and runs the write on a third one while the load is in flight.
+     */
+    private void raceWithLoad(CaffeinePlayerCache cache, Runnable write) throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread load = new Thread(() -> cache.get(1L, id -> {
+            loading.countDown();
+            awaitUninterruptibly(release);
+            return loader.apply(id);
+        }));
+        load.start();
+        loading.await();
+
+        Thread writer = new Thread(write);
+        writer.start();
+        // a writer that does not wait for the load finishes on its own
+        while (writer.getState() != Thread.State.BLOCKED && writer.getState() != Thread.State.WAITING
+                && writer.isAlive()) {
+            Thread.yield();
+        }
+        release.countDown();
+        load.join();
+        writer.join();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Player player(Long id) {
+        return player(id, "Player" + id);
+    }
+
+    private static Player player(Long id, String name) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName(name);
+        return player;
+    }
+}
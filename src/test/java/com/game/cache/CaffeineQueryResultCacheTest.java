@@ -0,0 +1,87 @@
+package com.game.cache;
+
+import com.game.repository.query.PlayerCriteria;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class CaffeineQueryResultCacheTest {
+
+    private final CaffeineQueryResultCache cache = new CaffeineQueryResultCache(100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void equalCriteriaShareAnEntryRegardlessOfParameterOrder() {
+        load(QueryResultCache.Kind.LIST, criteria("race", "ELF", "minLevel", "10"));
+        load(QueryResultCache.Kind.LIST, criteria("minLevel", "10", "race", "ELF"));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.statistics().getHits());
+    }
+
+    @Test
+    public void countIgnoresPagingAndOrder() {
+        load(QueryResultCache.Kind.COUNT, criteria("race", "ELF", "pageNumber", "1", "order", "NAME"));
+        load(QueryResultCache.Kind.COUNT, criteria("race", "ELF", "pageNumber", "2"));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void facetsIgnorePagingAndOrder() {
+        load(QueryResultCache.Kind.FACETS, criteria("race", "ELF", "pageSize", "5", "order", "LEVEL"));
+        load(QueryResultCache.Kind.FACETS, criteria("race", "ELF"));
+        load(QueryResultCache.Kind.COUNT, criteria("race", "ELF"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void listsOfDifferentPagesAreDistinct() {
+        load(QueryResultCache.Kind.LIST, criteria("race", "ELF", "pageNumber", "1"));
+        load(QueryResultCache.Kind.LIST, criteria("race", "ELF", "pageNumber", "2"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void invalidateMakesEveryResultStale() {
+        load(QueryResultCache.Kind.LIST, criteria("race", "ELF"));
+        load(QueryResultCache.Kind.COUNT, criteria("race", "ELF"));
+
+        cache.invalidate();
+        load(QueryResultCache.Kind.LIST, criteria("race", "ELF"));
+        load(QueryResultCache.Kind.COUNT, criteria("race", "ELF"));
+
+        assertEquals(4, loads.get());
+        assertEquals(0, cache.statistics().getHits());
+    }
+
+    @Test
+    public void resultLoadedAcrossAnInvalidationIsNotServedAfterIt() {
+        cache.get(QueryResultCache.Kind.COUNT, criteria(), () -> {
+            cache.invalidate();
+            return loads.incrementAndGet();
+        });
+        load(QueryResultCache.Kind.COUNT, criteria());
+
+        assertEquals(2, loads.get());
+    }
+
+    private void load(QueryResultCache.Kind kind, PlayerCriteria criteria) {
+        cache.get(kind, criteria, loads::incrementAndGet);
+    }
+
+    private static PlayerCriteria criteria(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return PlayerCriteria.fromParams(paramMap);
+    }
+}
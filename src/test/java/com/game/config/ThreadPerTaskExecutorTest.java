@@ -0,0 +1,77 @@
+package com.game.config;
+
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class ThreadPerTaskExecutorTest {
+
+    @Test
+    public void rejectsTasksOverTheLimitUntilOneFinishes() throws InterruptedException {
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blocked);
+        executor.execute(blocked);
+        assertEquals(2, executor.getActiveCount());
+
+        try {
+            executor.execute(() -> { });
+            fail("Third task must be rejected");
+        } catch (TaskRejectedException expected) {
+            // in flight limit reached
+        }
+
+        release.countDown();
+        awaitNoneActive(executor);
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void runsOnVirtualThreads() throws InterruptedException {
+        assumeTrue(VirtualThreads.isSupported());
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(VirtualThreads.factory("test-"), 1);
+        CountDownLatch ran = new CountDownLatch(1);
+        String[] threadName = new String[1];
+        executor.execute(() -> {
+            threadName[0] = Thread.currentThread().getName();
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals("test-0", threadName[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void virtualThreadsFailFastOnOldJdk() {
+        assumeTrue(!VirtualThreads.isSupported());
+        VirtualThreads.factory("test-");
+    }
+
+    /**
+     * The permit is released after the task returns, so the task itself cannot signal it.
+     */
+    private static void awaitNoneActive(ThreadPerTaskExecutor executor) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() > 0) {
+            assertTrue("Tasks still in flight", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
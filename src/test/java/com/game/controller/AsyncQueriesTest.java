@@ -0,0 +1,130 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "player.async.enabled=true",
+        "player.async.threads=1",
+        "player.async.queue-capacity=1"})
+public class AsyncQueriesTest extends AbstractTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Autowired
+    private ThreadPoolTaskExecutor playerQueryExecutor;
+
+    @After
+    public void releaseExecutor() throws InterruptedException {
+        release.countDown();
+        ThreadPoolExecutor executor = playerQueryExecutor.getThreadPoolExecutor();
+        while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+            Thread.sleep(10);
+        }
+    }
+
+    //test1
+    @Test
+    public void queriesAreAnsweredAsynchronously() throws Exception {
+        MvcResult count = mockMvc.perform(get("/rest/players/count?race=DWARF"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(count))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("5", body);
+
+        MvcResult list = mockMvc.perform(get("/rest/players?pageSize=3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        JsonNode players = objectMapper.readTree(mockMvc.perform(asyncDispatch(list))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(3, players.size());
+
+        MvcResult facets = mockMvc.perform(get("/rest/players/facets?race=DWARF"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        JsonNode dwarves = objectMapper.readTree(mockMvc.perform(asyncDispatch(facets))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(5, dwarves.get("total").asInt());
+    }
+
+    //test2
+    @Test
+    public void errorsKeepTheirStatus() throws Exception {
+        MvcResult missing = mockMvc.perform(get("/rest/players/410")).andReturn();
+        mockMvc.perform(asyncDispatch(missing)).andExpect(status().isNotFound());
+
+        MvcResult invalid = mockMvc.perform(get("/rest/players?race=CENTAUR")).andReturn();
+        mockMvc.perform(asyncDispatch(invalid)).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/rest/players/0")).andExpect(status().isBadRequest());
+    }
+
+    //test3
+    @Test
+    public void overloadIsRejectedWith503() throws Exception {
+        // one running and one queued task fill the executor
+        occupyThread();
+        playerQueryExecutor.execute(this::awaitRelease);
+
+        MvcResult result = mockMvc.perform(get("/rest/players/count")).andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    //test4
+    @Test
+    public void timedOutQueryIsAnsweredWith503() throws Exception {
+        occupyThread();
+
+        MvcResult result = mockMvc.perform(get("/rest/players/count")).andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isServiceUnavailable());
+        // the cancelled query leaves the queue free for the next request
+        assertEquals(0, playerQueryExecutor.getThreadPoolExecutor().getQueue().size());
+    }
+
+    private void occupyThread() throws InterruptedException {
+        playerQueryExecutor.execute(this::awaitRelease);
+        while (playerQueryExecutor.getActiveCount() == 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
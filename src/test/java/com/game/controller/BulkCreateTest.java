@@ -0,0 +1,81 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BulkCreateTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void createsValidPlayersAndReportsInvalidOnes() throws Exception {
+        String body = "[" + TestsHelper.NORMAL_JSON + "," + TestsHelper.NEGATIVE_BIRTHDAY_JSON + ","
+                + TestsHelper.BANNED_TRUE_JSON + "," + TestsHelper.TOO_BIG_EXPERIENCE_JSON + "]";
+
+        JsonNode result = perform(body);
+
+        assertEquals(4, result.get("requested").asInt());
+        assertEquals(2, result.get("created").asInt());
+        assertEquals(2, result.get("failed").asInt());
+        assertEquals(41L, result.get("ids").get(0).asLong());
+        assertEquals(42L, result.get("ids").get(1).asLong());
+        assertEquals(1, result.get("errors").get(0).get("index").asInt());
+        assertEquals("Birthday has invalid value", result.get("errors").get(0).get("message").asText());
+        assertEquals(3, result.get("errors").get(1).get("index").asInt());
+
+        String content = mockMvc.perform(get("/rest/players/42"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PlayerInfoTest actual = mapper.readValue(content, PlayerInfoTest.class);
+        assertEquals(Race.DWARF, actual.race);
+        assertEquals(Profession.CLERIC, actual.profession);
+        assertEquals(Boolean.TRUE, actual.banned);
+        assertEquals(Integer.valueOf(35), actual.level);
+        assertEquals(Integer.valueOf(2614), actual.untilNextLevel);
+    }
+
+    @Test
+    public void createdPlayersAreVisibleToCount() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 25; i++) {
+            body.append(i == 0 ? "" : ",").append(TestsHelper.NORMAL_JSON);
+        }
+        body.append("]");
+
+        JsonNode result = perform(body.toString());
+
+        assertEquals(25, result.get("created").asInt());
+        String count = mockMvc.perform(get("/rest/players/count"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("65", count);
+    }
+
+    @Test
+    public void emptyRequestCreatesNothing() throws Exception {
+        JsonNode result = perform("[]");
+
+        assertEquals(0, result.get("created").asInt());
+        assertEquals(0, result.get("failed").asInt());
+    }
+
+    private JsonNode perform(String body) throws Exception {
+        String content = mockMvc.perform(post("/rest/players/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(content);
+    }
+}
@@ -1,10 +1,16 @@
 package com.game.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 import org.springframework.http.MediaType;
 
+import java.util.StringJoiner;
+
+import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class DeletePlayerTest extends AbstractTest {
@@ -39,4 +45,53 @@ public class DeletePlayerTest extends AbstractTest {
         mockMvc.perform(get("/rest/players/1"))
                 .andExpect(status().isNotFound());
     }
+
+    //test5
+    @Test
+    public void deletePlayersByIdsTest() throws Exception {
+        String content = mockMvc.perform(delete("/rest/players?ids=1,2,2,426"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode result = new ObjectMapper().readTree(content);
+        assertEquals(3, result.get("requested").asInt());
+        assertEquals(2, result.get("deleted").asInt());
+        assertEquals(1, result.get("notFound").asInt());
+
+        mockMvc.perform(get("/rest/players/2"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/rest/players/count"))
+                .andExpect(content().string("38"));
+    }
+
+    //test6
+    @Test
+    public void deletePlayersByInvalidIdTest() throws Exception {
+        mockMvc.perform(delete("/rest/players?ids=1,0"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/rest/players/1"))
+                .andExpect(status().isOk());
+    }
+
+    //test7
+    @Test
+    public void deletePlayersWithoutIdsTest() throws Exception {
+        mockMvc.perform(delete("/rest/players"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test8
+    @Test
+    public void deletePlayersOverTheLimitTest() throws Exception {
+        StringJoiner ids = new StringJoiner(",", "/rest/players?ids=", "");
+        for (long id = 1; id <= 1001; id++) {
+            ids.add(Long.toString(id));
+        }
+        mockMvc.perform(delete(ids.toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/rest/players/count"))
+                .andExpect(content().string("40"));
+    }
 }
\ No newline at end of file
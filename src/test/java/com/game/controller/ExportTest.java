@@ -0,0 +1,74 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ExportTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void exportAllPlayersOnePerLine() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/rest/players/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertTrue(response.getContentType().startsWith(NdjsonPlayerWriter.CONTENT_TYPE));
+        String content = response.getContentAsString();
+        assertTrue(content.endsWith("\n"));
+        assertEquals(testsHelper.getAllPlayers(), parse(content));
+    }
+
+    @Test
+    public void exportIgnoresPagingAndKeepsOrder() throws Exception {
+        String content = mockMvc.perform(get("/rest/players/export?race=ELF&order=EXPERIENCE&pageSize=2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<PlayerInfoTest> expected = new ArrayList<>(testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()));
+        expected.sort(Comparator.comparing((PlayerInfoTest p) -> p.experience));
+        assertEquals(expected, parse(content));
+    }
+
+    @Test
+    public void exportWithNoMatchesIsEmpty() throws Exception {
+        String content = mockMvc.perform(get("/rest/players/export?name=nobody"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("", content);
+    }
+
+    @Test
+    public void exportWithInvalidFilterIsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players/export?minLevel=abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<PlayerInfoTest> parse(String content) throws Exception {
+        List<PlayerInfoTest> players = new ArrayList<>();
+        if (content.isEmpty()) {
+            return players;
+        }
+        assertTrue(content.endsWith("\n"));
+        for (String line : content.substring(0, content.length() - 1).split("\n", -1)) {
+            assertTrue(line, line.startsWith("{") && line.endsWith("}"));
+            players.add(mapper.readValue(line, PlayerInfoTest.class));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,97 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetFacetsTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void facetsWithoutFiltersCountAllPlayers() throws Exception {
+        JsonNode facets = perform("/rest/players/facets");
+
+        assertFacets(testsHelper.getAllPlayers(), facets);
+    }
+
+    @Test
+    public void facetsWithFiltersIgnorePaging() throws Exception {
+        JsonNode facets = perform("/rest/players/facets?banned=false&minExperience=30000&pageSize=2&order=LEVEL");
+
+        assertFacets(testsHelper.getPlayerInfosByBaned(false,
+                testsHelper.getPlayerInfosByMinExperience(30000, testsHelper.getAllPlayers())), facets);
+    }
+
+    @Test
+    public void facetsOfNoPlayersListEveryRaceAndProfession() throws Exception {
+        JsonNode facets = perform("/rest/players/facets?name=nobody");
+
+        assertEquals(0, facets.get("total").asInt());
+        assertEquals(Race.values().length, facets.get("races").size());
+        assertEquals(0, facets.get("races").get(Race.ELF.name()).asInt());
+        assertEquals(Profession.values().length, facets.get("professions").size());
+        assertEquals(0, facets.get("levels").size());
+    }
+
+    @Test
+    public void facetsFollowWrites() throws Exception {
+        int humans = perform("/rest/players/facets").get("races").get(Race.HUMAN.name()).asInt();
+
+        mockMvc.perform(post("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestsHelper.NORMAL_JSON))
+                .andExpect(status().isOk());
+
+        assertEquals(humans + 1, perform("/rest/players/facets").get("races").get(Race.HUMAN.name()).asInt());
+    }
+
+    @Test
+    public void unknownParameterIsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players/facets?levelBucket=5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertFacets(List<PlayerInfoTest> players, JsonNode facets) {
+        assertFalse(players.isEmpty());
+        assertEquals(players.size(), facets.get("total").asInt());
+        for (Race race : Race.values()) {
+            assertEquals(race.name(), testsHelper.getPlayerInfosByRace(race, players).size(),
+                    facets.get("races").get(race.name()).asInt());
+        }
+        for (Profession profession : Profession.values()) {
+            assertEquals(profession.name(), testsHelper.getPlayerInfosByProfession(profession, players).size(),
+                    facets.get("professions").get(profession.name()).asInt());
+        }
+        int levelBucket = facets.get("levelBucket").asInt();
+        int bucketed = 0;
+        for (int from = 0; bucketed < players.size(); from += levelBucket) {
+            int inBucket = testsHelper.getPlayerInfosByMinLevel(from,
+                    testsHelper.getPlayerInfosByMaxLevel(from + levelBucket - 1, players)).size();
+            JsonNode count = facets.get("levels").get(String.valueOf(from));
+            assertEquals("level " + from, inBucket, count == null ? 0 : count.asInt());
+            bucketed += inBucket;
+        }
+    }
+
+    private JsonNode perform(String url) throws Exception {
+        String content = mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(content);
+    }
+}
@@ -0,0 +1,67 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetPageTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    @Test
+    public void getPageWithoutFiltersReturnsFirstPageAndTotal() throws Exception {
+        JsonNode page = perform("/rest/players/page");
+
+        List<PlayerInfoTest> expected = testsHelper.getPlayerInfosByPage(0, 3, testsHelper.getAllPlayers());
+        assertEquals(expected, mapper.convertValue(page.get("players"), typeReference));
+        assertEquals(testsHelper.getAllPlayers().size(), page.get("total").asInt());
+    }
+
+    @Test
+    public void getPageWithFiltersMatchesListAndCount() throws Exception {
+        JsonNode page = perform("/rest/players/page?race=ELF&profession=SORCERER&minExperience=50000&pageSize=2&pageNumber=1");
+
+        List<PlayerInfoTest> filtered = testsHelper.getPlayerInfosByRace(Race.ELF,
+                testsHelper.getPlayerInfosByProfession(Profession.SORCERER,
+                        testsHelper.getPlayerInfosByMinExperience(50000,
+                                testsHelper.getAllPlayers())));
+        assertEquals(testsHelper.getPlayerInfosByPage(1, 2, filtered), mapper.convertValue(page.get("players"), typeReference));
+        assertEquals(filtered.size(), page.get("total").asInt());
+    }
+
+    @Test
+    public void getPagePastTheEndStillReturnsTotal() throws Exception {
+        JsonNode page = perform("/rest/players/page?name=ра&pageNumber=100");
+
+        assertTrue(page.get("players").isEmpty());
+        assertEquals(testsHelper.getPlayerInfosByName("ра", testsHelper.getAllPlayers()).size(), page.get("total").asInt());
+    }
+
+    @Test
+    public void getPageWithUnknownParameterIsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players/page?level=1 OR 1=1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode perform(String url) throws Exception {
+        String content = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(content);
+    }
+}
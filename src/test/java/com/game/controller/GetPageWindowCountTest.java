@@ -0,0 +1,10 @@
+package com.game.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The page tests with the page and total read by one COUNT(*) OVER () query.
+ */
+@TestPropertySource(properties = "player.page.window-count=true")
+public class GetPageWindowCountTest extends GetPageTest {
+}
@@ -0,0 +1,105 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetSliceTest extends AbstractTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    @Test
+    public void seekThroughAllPlayersByIdVisitsEachOnce() throws Exception {
+        List<PlayerInfoTest> actual = seekAll("/rest/players/seek?pageSize=7");
+
+        assertEquals(testsHelper.getAllPlayers(), actual);
+    }
+
+    @Test
+    public void seekByBirthdayBreaksTiesById() throws Exception {
+        List<PlayerInfoTest> actual = seekAll("/rest/players/seek?order=BIRTHDAY&pageSize=4");
+
+        List<PlayerInfoTest> expected = new ArrayList<>(testsHelper.getAllPlayers());
+        expected.sort(Comparator.comparing((PlayerInfoTest p) -> p.birthday).thenComparing(p -> p.id));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void seekByBirthdayVisitsNullBirthdaysFirst() throws Exception {
+        new JdbcTemplate(dataSource).update("UPDATE player SET birthday = NULL WHERE id IN (3, 7, 20)");
+
+        List<PlayerInfoTest> actual = seekAll("/rest/players/seek?order=BIRTHDAY&pageSize=2");
+
+        List<PlayerInfoTest> expected = new ArrayList<>(testsHelper.getAllPlayers());
+        expected.stream().filter(p -> p.id == 3 || p.id == 7 || p.id == 20).forEach(p -> p.birthday = null);
+        expected.sort(Comparator.comparing((PlayerInfoTest p) -> p.birthday, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(p -> p.id));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void seekWithFiltersByExperience() throws Exception {
+        List<PlayerInfoTest> actual = seekAll("/rest/players/seek?banned=false&maxLevel=50&order=EXPERIENCE&pageSize=3");
+
+        List<PlayerInfoTest> expected = new ArrayList<>(testsHelper.getPlayerInfosByBaned(false,
+                testsHelper.getPlayerInfosByMaxLevel(50, testsHelper.getAllPlayers())));
+        expected.sort(Comparator.comparing((PlayerInfoTest p) -> p.experience).thenComparing(p -> p.id));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void cursorOfAnotherOrderIsBadRequest() throws Exception {
+        JsonNode first = perform("/rest/players/seek?order=LEVEL");
+
+        mockMvc.perform(get("/rest/players/seek?order=NAME&cursor=" + first.get("next").asText()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players/seek?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<PlayerInfoTest> seekAll(String url) throws Exception {
+        List<PlayerInfoTest> players = new ArrayList<>();
+        JsonNode slice = perform(url);
+        while (true) {
+            List<PlayerInfoTest> page = mapper.convertValue(slice.get("players"), typeReference);
+            players.addAll(page);
+            if (slice.get("next").isNull()) {
+                return players;
+            }
+            assertTrue(!page.isEmpty());
+            slice = perform(url + "&cursor=" + slice.get("next").asText());
+        }
+    }
+
+    private JsonNode perform(String url) throws Exception {
+        String content = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(content);
+    }
+}
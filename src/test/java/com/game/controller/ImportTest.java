@@ -0,0 +1,139 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.TestsHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"player.import.directory=" + ImportTest.IMPORT_DIRECTORY, "player.bulk.batch-size=100"})
+public class ImportTest extends AbstractTest {
+
+    static final String IMPORT_DIRECTORY = "target/test-import";
+
+    private static final String CSV_HEADER = "name,title,race,profession,birthday,banned,experience\n";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Before
+    public void createImportDirectory() throws Exception {
+        Files.createDirectories(Paths.get(IMPORT_DIRECTORY));
+    }
+
+    @Test
+    public void importNdjsonBodyReportsBadRecords() throws Exception {
+        String body = TestsHelper.NORMAL_JSON + "\n"
+                + TestsHelper.NEGATIVE_BIRTHDAY_JSON + "\n"
+                + "\n"
+                + "{\"name\": \n"
+                + TestsHelper.BANNED_TRUE_JSON + "\n";
+
+        JsonNode status = importBody(body, "application/x-ndjson");
+
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(4, status.get("read").asInt());
+        assertEquals(2, status.get("created").asInt());
+        assertEquals(2, status.get("failed").asInt());
+        assertEquals(1, status.get("errors").get(0).get("index").asInt());
+        assertEquals("Birthday has invalid value", status.get("errors").get(0).get("message").asText());
+        assertEquals(2, status.get("errors").get(1).get("index").asInt());
+        assertEquals("42", count());
+    }
+
+    @Test
+    public void importCsvBody() throws Exception {
+        String body = CSV_HEADER
+                + "Амарылис,Прозелит,HUMAN,CLERIC,988059600000,false,63986\n"
+                + "Амарылис,Прозелит,CENTAUR,CLERIC,988059600000,false,63986\n"
+                + "Амарылис,Прозелит,ELF,WARRIOR,988059600000,true,1000\n";
+
+        JsonNode status = importBody(body, "text/csv");
+
+        assertEquals(3, status.get("read").asInt());
+        assertEquals(2, status.get("created").asInt());
+        assertEquals(1, status.get("errors").get(0).get("index").asInt());
+        assertEquals("42", count());
+    }
+
+    @Test
+    public void importFileInBackground() throws Exception {
+        List<String> lines = new ArrayList<>(Collections.singletonList(CSV_HEADER.trim()));
+        for (int i = 0; i < 450; i++) {
+            lines.add("Игрок" + i + ",Тест,HUMAN,CLERIC,988059600000,false," + (i + 1));
+        }
+        Path file = Paths.get(IMPORT_DIRECTORY, "players.csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        MvcResult result = mockMvc.perform(post("/rest/players/import?file=players.csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        String location = result.getResponse().getHeader("Location");
+
+        JsonNode status = readTree(mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn());
+        for (int i = 0; i < 100 && "RUNNING".equals(status.get("state").asText()); i++) {
+            Thread.sleep(100);
+            status = readTree(mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn());
+        }
+
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(450, status.get("created").asInt());
+        assertEquals(0, status.get("failed").asInt());
+        assertTrue(status.get("rowsPerSecond").asLong() > 0);
+        assertEquals("490", count());
+    }
+
+    @Test
+    public void fileOutsideImportDirectoryIsBadRequest() throws Exception {
+        mockMvc.perform(post("/rest/players/import?file=../../pom.xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void missingFileIsBadRequest() throws Exception {
+        mockMvc.perform(post("/rest/players/import?file=missing.csv"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void unknownImportIsNotFound() throws Exception {
+        mockMvc.perform(get("/rest/players/import/100000"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode importBody(String body, String contentType) throws Exception {
+        return readTree(mockMvc.perform(post("/rest/players/import")
+                .contentType(MediaType.parseMediaType(contentType))
+                .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    private String count() throws Exception {
+        return mockMvc.perform(get("/rest/players/count"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private JsonNode readTree(MvcResult result) throws Exception {
+        return mapper.readTree(result.getResponse().getContentAsString());
+    }
+}
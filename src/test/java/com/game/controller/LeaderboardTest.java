@@ -0,0 +1,153 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import com.game.index.PlayerIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "player.leaderboard.enabled=true")
+public class LeaderboardTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private PlayerIndex playerIndex;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void reloadLeaderboard() {
+        // test.sql rewrites the table behind the application's back
+        playerIndex.invalidate();
+    }
+
+    @Test
+    public void topPlayersByExperience() throws Exception {
+        JsonNode top = perform("/rest/leaderboard?size=5");
+
+        assertEquals(ranked(testsHelper.getAllPlayers()).subList(0, 5), ids(top));
+        assertEquals(1, top.get(0).get("rank").asInt());
+    }
+
+    @Test
+    public void topPlayersOfARace() throws Exception {
+        JsonNode top = perform("/rest/leaderboard?race=ELF&size=100");
+
+        assertEquals(ranked(testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers())), ids(top));
+    }
+
+    @Test
+    public void rankAndNeighboursOfAPlayer() throws Exception {
+        List<Long> ranked = ranked(testsHelper.getAllPlayers());
+        Long id = ranked.get(10);
+
+        assertEquals(11, perform("/rest/leaderboard/" + id).get("rank").asInt());
+        assertEquals(ranked.subList(8, 13), ids(perform("/rest/leaderboard/" + id + "/around?radius=2")));
+    }
+
+    @Test
+    public void bannedPlayersAreNotRanked() throws Exception {
+        PlayerInfoTest banned = testsHelper.getPlayerInfosByBaned(true, testsHelper.getAllPlayers()).get(0);
+
+        mockMvc.perform(get("/rest/leaderboard/" + banned.id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/rest/leaderboard/" + banned.id + "/around"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void playersWithANullBannedOrExperienceAreNotRanked() throws Exception {
+        List<Long> ranked = ranked(testsHelper.getAllPlayers());
+        Long nullBanned = ranked.get(0);
+        Long nullExperience = ranked.get(1);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE player SET banned = NULL WHERE id = ?", nullBanned);
+        jdbcTemplate.update("UPDATE player SET experience = NULL WHERE id = ?", nullExperience);
+        playerIndex.invalidate();
+
+        mockMvc.perform(get("/rest/leaderboard/" + nullBanned))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/rest/leaderboard/" + nullExperience + "/around"))
+                .andExpect(status().isNotFound());
+        assertEquals(ranked.subList(2, 7), ids(perform("/rest/leaderboard?size=5")));
+        assertEquals(1, perform("/rest/leaderboard/" + ranked.get(2)).get("rank").asInt());
+    }
+
+    @Test
+    public void followsWrites() throws Exception {
+        Long first = ranked(testsHelper.getAllPlayers()).get(0);
+
+        mockMvc.perform(post("/rest/players/" + first)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banned\": true}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/rest/leaderboard/" + first))
+                .andExpect(status().isNotFound());
+
+        String created = mockMvc.perform(post("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestsHelper.NORMAL_JSON.replace("63986", "9999999")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = mapper.readTree(created).get("id").asLong();
+        assertEquals(id, perform("/rest/leaderboard?size=1").get(0).get("player").get("id").asLong());
+
+        mockMvc.perform(delete("/rest/players/" + id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/rest/leaderboard/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void invalidParametersAreBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/leaderboard?size=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/rest/leaderboard?race=CENTAUR")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/rest/leaderboard/1/around?radius=-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/rest/leaderboard/0")).andExpect(status().isBadRequest());
+    }
+
+    private static List<Long> ranked(List<PlayerInfoTest> players) {
+        return players.stream()
+                .filter(p -> !p.banned)
+                .sorted(Comparator.comparing((PlayerInfoTest p) -> p.experience).reversed().thenComparing(p -> p.id))
+                .map(p -> p.id)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(JsonNode ranked) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode player : ranked) {
+            ids.add(player.get("player").get("id").asLong());
+        }
+        return ids;
+    }
+
+    private JsonNode perform(String url) throws Exception {
+        String content = mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(content);
+    }
+}
@@ -0,0 +1,105 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MetricsTest extends AbstractTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void requestsAreRecordedPerEndpointAndStatus() throws Exception {
+        double before = metric("http_server_requests_seconds_count", "uri=\"/rest/players\"", "status=\"200\"");
+        double beforeErrors = metric("http_server_requests_seconds_count", "uri=\"/rest/players/{id}\"",
+                "outcome=\"CLIENT_ERROR\"");
+
+        mockMvc.perform(get("/rest/players?pageSize=3")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players?pageSize=3")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/rest/players/410")).andExpect(status().isNotFound());
+
+        assertEquals(before + 2, metric("http_server_requests_seconds_count", "uri=\"/rest/players\"", "status=\"200\""), 0);
+        assertEquals(beforeErrors + 2, metric("http_server_requests_seconds_count", "uri=\"/rest/players/{id}\"",
+                "outcome=\"CLIENT_ERROR\""), 0);
+        assertEquals(before + 2, metric("http_server_requests_seconds_bucket", "uri=\"/rest/players\"", "status=\"200\"",
+                "le=\"+Inf\""), 0);
+        assertTrue(metric("http_server_requests_seconds_max", "uri=\"/rest/players\"", "status=\"200\"") > 0);
+    }
+
+    //test2
+    @Test
+    public void databaseTimeAndRowsArePerRequest() throws Exception {
+        double rowsBefore = metric("http_server_requests_rows_sum", "uri=\"/rest/players\"");
+        double dbBefore = metric("http_server_requests_db_seconds_sum", "uri=\"/rest/players\"");
+
+        mockMvc.perform(get("/rest/players?pageSize=5")).andExpect(status().isOk());
+
+        assertEquals(rowsBefore + 5, metric("http_server_requests_rows_sum", "uri=\"/rest/players\""), 0);
+        assertTrue(metric("http_server_requests_db_seconds_sum", "uri=\"/rest/players\"") > dbBefore);
+    }
+
+    //test3
+    @Test
+    public void scrapeUsesPrometheusTextFormat() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/rest/admin/metrics"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentType().startsWith("text/plain"));
+        assertTrue(result.getResponse().getContentAsString().contains("# TYPE http_server_requests_seconds histogram"));
+    }
+
+    //test4
+    @Test
+    public void slowestQueryShapesAreListed() throws Exception {
+        mockMvc.perform(get("/rest/players/count?race=ELF&minLevel=10")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/count?race=ORC&minLevel=20")).andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/rest/admin/queries?limit=100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode shape = null;
+        for (JsonNode node : objectMapper.readTree(body)) {
+            if ("COUNT [race,minLevel]".equals(node.get("fingerprint").asText())) {
+                shape = node;
+            }
+        }
+        assertNotNull("COUNT [race,minLevel] missing in " + body, shape);
+        assertTrue(shape.get("count").asLong() >= 2);
+        assertTrue(shape.get("sql").asText().startsWith("SELECT COUNT"));
+
+        mockMvc.perform(get("/rest/admin/queries?limit=0")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Sum of the samples of the metric with all the given labels, 0 if there is none yet.
+     */
+    private double metric(String name, String... labels) throws Exception {
+        String scrape = mockMvc.perform(get("/rest/admin/metrics")).andReturn().getResponse().getContentAsString();
+        double sum = 0;
+        for (String line : scrape.split("\n")) {
+            if (!line.startsWith(name + "{")) {
+                continue;
+            }
+            boolean matches = true;
+            for (String label : labels) {
+                matches &= line.contains(label);
+            }
+            if (matches) {
+                sum += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,142 @@
+package com.game.index;
+
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import com.game.service.PlayerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Counts with player.count-index.enabled give the database's answers, with or without the bitmaps.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+@TestPropertySource(properties = "player.count-index.enabled=true")
+public class BitmapCountIndexTest {
+
+    @Autowired
+    private PlayerIndex playerIndex;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerQueryFactory queryFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void reloadIndex() {
+        // test.sql rewrites the table behind the application's back
+        playerIndex.invalidate();
+    }
+
+    @Test
+    public void countsLikeTheDatabase() {
+        assertCountFromIndex("race", "HUMAN");
+        assertCountFromIndex("profession", "WARRIOR", "banned", "false");
+        assertCountFromIndex("after", "1041372000000", "before", "1136066400000");
+        assertCountFromIndex("minLevel", "20", "maxLevel", "40", "race", "ELF");
+        assertCountFromIndex("minExperience", "30000", "maxExperience", "90000", "banned", "true");
+        assertCountFromIndex();
+    }
+
+    @Test
+    public void leavesNameAndTitleToTheDatabase() {
+        assertFalse(playerIndex.count(PlayerCriteria.fromParams(params("name", "ар"))).isPresent());
+        assertFalse(playerIndex.findAll(PlayerCriteria.fromParams(params("race", "ELF"))).isPresent());
+
+        Map<String, String> byTitle = params("title", "и", "race", "HUMAN");
+        assertEquals(databaseCount(byTitle), playerService.countAllByParams(byTitle));
+    }
+
+    @Test
+    public void followsServiceWrites() {
+        Map<String, String> trolls = params("race", "TROLL", "minLevel", "100");
+        int before = playerService.countAllByParams(trolls);
+
+        Player saved = playerService.save(playerService.create(dto()));
+        PlayerDTO update = new PlayerDTO();
+        update.setRace(Race.TROLL);
+        update.setExperience(1_000_000);
+        playerService.update(saved.getId(), update);
+        assertEquals(before + 1, playerService.countAllByParams(trolls));
+
+        playerService.delete(saved.getId());
+        assertEquals(before, playerService.countAllByParams(trolls));
+    }
+
+    @Test
+    public void isBuiltOnStartup() {
+        InMemoryPlayerIndex<?> index = InMemoryPlayerIndex.bitmapCounts(dataSource);
+        index.afterSingletonsInstantiated();
+        PlayerCriteria all = PlayerCriteria.fromParams(params());
+        int players = databaseCount(params());
+
+        new JdbcTemplate(dataSource).update("DELETE FROM player");
+
+        assertEquals(players, index.count(all).getAsInt());
+    }
+
+    private void assertCountFromIndex(String... params) {
+        Map<String, String> paramMap = params(params);
+        assertEquals(paramMap.toString(), databaseCount(paramMap),
+                playerIndex.count(PlayerCriteria.fromParams(paramMap)).getAsInt());
+        assertEquals(paramMap.toString(), databaseCount(paramMap), playerService.countAllByParams(paramMap));
+    }
+
+    private int databaseCount(Map<String, String> params) {
+        PlayerQuery count = queryFactory.count(PlayerCriteria.fromParams(params));
+        return new JdbcTemplate(dataSource).queryForObject(count.getSql(), Integer.class, count.getParameters().toArray());
+    }
+
+    private static PlayerDTO dto() {
+        PlayerDTO dto = new PlayerDTO();
+        dto.setName("Счёт");
+        dto.setTitle("Тестовый");
+        dto.setRace(Race.ELF);
+        dto.setProfession(Profession.ROGUE);
+        dto.setBirthday(1_000_000_000_000L);
+        dto.setBanned(false);
+        dto.setExperience(1000);
+        return dto;
+    }
+
+    private static Map<String, String> params(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return Collections.unmodifiableMap(paramMap);
+    }
+}
@@ -0,0 +1,205 @@
+package com.game.index;
+
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import com.game.service.PlayerBulkService;
+import com.game.service.PlayerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Filtered reads with player.index.enabled give the database's answers and see the writes
+ * made through the services.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+@TestPropertySource(properties = "player.index.enabled=true")
+public class ColumnarPlayerIndexTest {
+
+    @Autowired
+    private PlayerIndex playerIndex;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerBulkService playerBulkService;
+
+    @Autowired
+    private PlayerQueryFactory queryFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void reloadIndex() {
+        // test.sql rewrites the table behind the application's back
+        playerIndex.invalidate();
+    }
+
+    @Test
+    public void answersLikeTheDatabase() {
+        assertTrue(playerIndex.findAll(PlayerCriteria.fromParams(params())).isPresent());
+
+        assertSameAsDatabase("race", "HUMAN");
+        assertSameAsDatabase("name", "ар", "order", "NAME");
+        assertSameAsDatabase("title", "и", "banned", "false", "order", "EXPERIENCE");
+        assertSameAsDatabase("profession", "WARRIOR", "minExperience", "30000", "pageSize", "2", "pageNumber", "1");
+        assertSameAsDatabase("after", "1041372000000", "before", "1136066400000", "order", "NAME");
+        assertSameAsDatabase("minLevel", "20", "maxLevel", "40", "order", "EXPERIENCE", "pageSize", "5");
+        assertSameAsDatabase("race", "DWARF", "profession", "CLERIC");
+    }
+
+    @Test
+    public void textFiltersAndNameOrderFollowTheDatabaseCollation() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // compares text like MySQL's default collation, unlike H2's own
+        jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN name VARCHAR_IGNORECASE(12)");
+        jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN title VARCHAR_IGNORECASE(30)");
+        try {
+            // distinct when case is ignored, the name order has no other tie breaker
+            for (String name : Arrays.asList("Регистр", "рЕГИСТРа", "регистрам", "РЕГИСТРОВ")) {
+                playerService.save(playerService.create(dto(name)));
+            }
+
+            assertSameAsDatabase("name", "регистр");
+            assertSameAsDatabase("name", "ЕГИ", "banned", "false");
+            assertSameAsDatabase("title", "тестовый");
+            assertSameAsDatabase("name", "РЕГ", "order", "NAME");
+            assertSameAsDatabase("race", "ELF", "order", "NAME", "pageSize", "20");
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN name VARCHAR(12)");
+            jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN title VARCHAR(30)");
+        }
+    }
+
+    @Test
+    public void leavesColumnsWithNullsToTheDatabase() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE player SET banned = NULL WHERE id = 1");
+        jdbcTemplate.update("UPDATE player SET level = NULL WHERE id = 2");
+        playerIndex.invalidate();
+
+        assertFalse(playerIndex.count(PlayerCriteria.fromParams(params("banned", "false"))).isPresent());
+        assertFalse(playerIndex.count(PlayerCriteria.fromParams(params("maxLevel", "40"))).isPresent());
+        assertFalse(playerIndex.findAll(PlayerCriteria.fromParams(params("order", "LEVEL"))).isPresent());
+        assertTrue(playerIndex.count(PlayerCriteria.fromParams(params("race", "HUMAN"))).isPresent());
+
+        assertSameCountAsDatabase("banned", "false");
+        assertSameCountAsDatabase("banned", "false", "race", "ORC");
+        assertSameCountAsDatabase("maxLevel", "40");
+        assertSameCountAsDatabase("race", "HUMAN");
+    }
+
+    @Test
+    public void followsServiceWrites() {
+        Map<String, String> byName = params("name", "Индекс");
+        assertEquals(0, playerService.countAllByParams(byName));
+
+        Player saved = playerService.save(playerService.create(dto("Индекс")));
+        assertEquals(1, playerService.countAllByParams(byName));
+
+        PlayerDTO update = new PlayerDTO();
+        update.setRace(Race.TROLL);
+        update.setExperience(1_000_000);
+        playerService.update(saved.getId(), update);
+        List<Player> trolls = playerService.findAllByParams(params("name", "Индекс", "race", "TROLL", "minLevel", "100"));
+        assertEquals(1, trolls.size());
+        assertEquals(1_000_000, trolls.get(0).getExperience());
+
+        playerService.delete(saved.getId());
+        assertEquals(0, playerService.countAllByParams(byName));
+    }
+
+    @Test
+    public void followsBulkInserts() {
+        Map<String, String> byName = params("name", "Пакет");
+        assertEquals(0, playerService.countAllByParams(byName));
+
+        playerBulkService.createAll(Arrays.asList(dto("Пакет1"), dto("Пакет2")));
+
+        List<String> names = playerService.findAllByParams(byName).stream()
+                .map(Player::getName)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("Пакет1", "Пакет2"), names);
+    }
+
+    private void assertSameAsDatabase(String... params) {
+        Map<String, String> paramMap = params(params);
+        PlayerCriteria criteria = PlayerCriteria.fromParams(paramMap);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        PlayerQuery select = queryFactory.select(criteria);
+        List<Long> all = jdbcTemplate.query(select.getSql(), (resultSet, row) -> resultSet.getLong("id"),
+                select.getParameters().toArray());
+        int from = Math.min(criteria.getOffset(), all.size());
+        List<Long> expected = all.subList(from, Math.min(from + criteria.getPageSize(), all.size()));
+        List<Long> ids = playerService.findAllByParams(paramMap).stream()
+                .map(Player::getId)
+                .collect(Collectors.toList());
+        assertEquals(paramMap.toString(), expected, ids);
+
+        assertSameCountAsDatabase(params);
+    }
+
+    private void assertSameCountAsDatabase(String... params) {
+        Map<String, String> paramMap = params(params);
+        PlayerQuery count = queryFactory.count(PlayerCriteria.fromParams(paramMap));
+        Integer total = new JdbcTemplate(dataSource)
+                .queryForObject(count.getSql(), Integer.class, count.getParameters().toArray());
+        assertEquals(paramMap.toString(), (int) total, playerService.countAllByParams(paramMap));
+    }
+
+    private static PlayerDTO dto(String name) {
+        PlayerDTO dto = new PlayerDTO();
+        dto.setName(name);
+        dto.setTitle("Тестовый");
+        dto.setRace(Race.ELF);
+        dto.setProfession(Profession.ROGUE);
+        dto.setBirthday(1_000_000_000_000L);
+        dto.setBanned(false);
+        dto.setExperience(1000);
+        return dto;
+    }
+
+    private static Map<String, String> params(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return Collections.unmodifiableMap(paramMap);
+    }
+}
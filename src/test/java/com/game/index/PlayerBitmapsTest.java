@@ -0,0 +1,181 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PlayerBitmapsTest {
+
+    // birthdays are kept in buckets of 32 days, and epoch day 10976 starts one
+    private static final LocalDate BUCKET_START = LocalDate.ofEpochDay(10976);
+    private static final LocalDate BUCKET_END = BUCKET_START.plusDays(31);
+
+    private final PlayerBitmaps bitmaps = new PlayerBitmaps();
+
+    @Test
+    public void experienceRangesAtBucketEdges() {
+        int[] experiences = {0, 9_999, 10_000, 19_999, 20_000};
+        for (int i = 0; i < experiences.length; i++) {
+            Player player = player(i + 1L);
+            player.setExperience(experiences[i]);
+            bitmaps.put(player);
+        }
+
+        // exactly the bucket of 10 000 to 19 999
+        assertEquals(2, count("minExperience", "10000", "maxExperience", "19999"));
+        // the last value of one bucket and the first of the next
+        assertEquals(2, count("minExperience", "9999", "maxExperience", "10000"));
+        // inside one bucket, matching none of its values
+        assertEquals(0, count("minExperience", "10001", "maxExperience", "19998"));
+        assertEquals(2, count("maxExperience", "9999"));
+        assertEquals(1, count("minExperience", "20000"));
+        assertEquals(0, count("minExperience", "20000", "maxExperience", "19999"));
+    }
+
+    @Test
+    public void levelRanges() {
+        int[] levels = {0, 1, 5, 5, 99};
+        for (int i = 0; i < levels.length; i++) {
+            Player player = player(i + 1L);
+            player.setLevel(levels[i]);
+            bitmaps.put(player);
+        }
+
+        assertEquals(3, count("minLevel", "1", "maxLevel", "5"));
+        assertEquals(2, count("minLevel", "5", "maxLevel", "5"));
+        assertEquals(1, count("maxLevel", "0"));
+        assertEquals(1, count("minLevel", "6"));
+        assertEquals(0, count("minLevel", "100"));
+        assertEquals(0, count("minLevel", "5", "maxLevel", "1"));
+    }
+
+    @Test
+    public void birthdayRangesAtBucketEdges() {
+        LocalDate[] birthdays = {BUCKET_START.minusDays(1), BUCKET_START, BUCKET_END, BUCKET_END.plusDays(1), null};
+        for (int i = 0; i < birthdays.length; i++) {
+            Player player = player(i + 1L);
+            player.setBirthday(birthdays[i] == null ? null : java.sql.Date.valueOf(birthdays[i]));
+            bitmaps.put(player);
+        }
+
+        assertEquals(2, count("after", millis(BUCKET_START), "before", millis(BUCKET_END)));
+        assertEquals(2, count("after", millis(BUCKET_START.minusDays(1)), "before", millis(BUCKET_START)));
+        assertEquals(0, count("after", millis(BUCKET_START.plusDays(1)), "before", millis(BUCKET_END.minusDays(1))));
+        assertEquals(3, count("after", millis(BUCKET_START)));
+        assertEquals(2, count("before", millis(BUCKET_START)));
+        // a null birthday matches no birthday filter
+        assertEquals(5, count());
+    }
+
+    @Test
+    public void birthdayIsTheLocalDayOfTheTimestamp() {
+        Player player = player(1L);
+        player.setBirthday(Date.from(BUCKET_END.atTime(23, 59).atZone(ZoneId.systemDefault()).toInstant()));
+        bitmaps.put(player);
+
+        assertEquals(1, count("after", millis(BUCKET_END), "before", millis(BUCKET_END)));
+        assertEquals(0, count("after", millis(BUCKET_END.plusDays(1))));
+    }
+
+    @Test
+    public void professionMovesBetweenBitmaps() {
+        bitmaps.putAll(Arrays.asList(player(1L), player(2L), player(3L)));
+
+        bitmaps.update(2L, player -> {
+            player.setProfession(Profession.ROGUE);
+            return player;
+        });
+        assertEquals(2, count("profession", "WARRIOR"));
+        assertEquals(1, count("profession", "ROGUE"));
+        assertEquals(1, count("race", "HUMAN", "profession", "ROGUE"));
+
+        bitmaps.update(2L, player -> {
+            player.setProfession(null);
+            return player;
+        });
+        assertEquals(2, count("profession", "WARRIOR"));
+        assertEquals(0, count("profession", "ROGUE"));
+        assertEquals(3, count("race", "HUMAN"));
+
+        bitmaps.update(404L, player -> {
+            player.setProfession(Profession.ROGUE);
+            return player;
+        });
+        assertEquals(0, count("profession", "ROGUE"));
+    }
+
+    @Test
+    public void removedSlotIsReused() {
+        bitmaps.putAll(Arrays.asList(player(1L), player(2L), player(3L)));
+        Integer slot = bitmaps.slotOf(2L);
+
+        bitmaps.remove(2L);
+        assertEquals(2, count("profession", "WARRIOR"));
+
+        Player rogue = player(4L);
+        rogue.setProfession(Profession.ROGUE);
+        bitmaps.put(rogue);
+        assertEquals(slot, bitmaps.slotOf(4L));
+        assertEquals(4L, bitmaps.idAt(slot));
+        assertEquals(2, count("profession", "WARRIOR"));
+        assertEquals(1, count("profession", "ROGUE"));
+        assertEquals(3, bitmaps.size());
+    }
+
+    @Test
+    public void idsBeyondIntAreCounted() {
+        Player banned = player(Integer.MAX_VALUE + 1L);
+        banned.setBanned(true);
+        bitmaps.putAll(Arrays.asList(player(1L), player((long) Integer.MAX_VALUE), banned));
+
+        assertEquals(3, count());
+        assertEquals(1, count("banned", "true"));
+        assertEquals(Integer.MAX_VALUE + 1L, bitmaps.idAt(bitmaps.slotOf(Integer.MAX_VALUE + 1L)));
+    }
+
+    @Test
+    public void leavesNameAndTitleToTheDatabase() {
+        bitmaps.put(player(1L));
+
+        assertFalse(bitmaps.count(criteria("name", "a")).isPresent());
+        assertFalse(bitmaps.count(criteria("race", "ELF", "title", "a")).isPresent());
+        assertFalse(bitmaps.findAll(criteria()).isPresent());
+    }
+
+    private int count(String... params) {
+        return bitmaps.count(criteria(params)).getAsInt();
+    }
+
+    private static PlayerCriteria criteria(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return PlayerCriteria.fromParams(paramMap);
+    }
+
+    private static String millis(LocalDate date) {
+        return String.valueOf(date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static Player player(Long id) {
+        Player player = new Player();
+        player.setId(id);
+        player.setRace(Race.HUMAN);
+        player.setProfession(Profession.WARRIOR);
+        player.setBirthday(java.sql.Date.valueOf(BUCKET_START));
+        return player;
+    }
+}
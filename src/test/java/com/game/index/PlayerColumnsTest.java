@@ -0,0 +1,262 @@
+package com.game.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.util.DateUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PlayerColumnsTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final long MIN_BIRTHDAY = 946_684_800_000L;
+
+    private final Random random = new Random(7);
+    private final Map<Long, Player> players = new LinkedHashMap<>();
+    private final PlayerColumns columns = new PlayerColumns();
+    private long nextId = 1;
+
+    @Test
+    public void answersLikeAFullScan() {
+        columns.putAll(newPlayers(3000));
+
+        assertRandomQueries(500);
+    }
+
+    @Test
+    public void followsSingleWrites() {
+        columns.putAll(newPlayers(2000));
+        for (int i = 0; i < 300; i++) {
+            Player player = newPlayers(1).get(0);
+            columns.put(player);
+
+            Long removed = randomId();
+            players.remove(removed);
+            columns.remove(removed);
+
+            Long updated = randomId();
+            Race race = Race.values()[random.nextInt(Race.values().length)];
+            int experience = random.nextInt(10_000);
+            columns.update(updated, p -> copy(p, race, experience));
+            players.put(updated, copy(players.get(updated), race, experience));
+        }
+        columns.putAll(newPlayers(500));
+
+        assertEquals(players.size(), columns.size());
+        assertRandomQueries(500);
+    }
+
+    @Test
+    public void nullColumnsMatchNoFilterAndSortFirst() {
+        Player player = new Player();
+        player.setId(100L);
+        columns.put(player);
+        columns.putAll(newPlayers(10));
+
+        assertEquals(10, count(criteria("after", "0")));
+        assertEquals(10, Arrays.stream(Race.values()).mapToInt(race -> count(criteria("race", race.name()))).sum());
+        assertEquals(Long.valueOf(100), findAll(criteria("order", "BIRTHDAY")).get(0).getId());
+    }
+
+    @Test
+    public void textFiltersAndNameOrderAreLeftToTheDatabase() {
+        columns.putAll(newPlayers(10));
+
+        assertFalse(columns.count(criteria("name", "a")).isPresent());
+        assertFalse(columns.findAll(criteria("title", "a")).isPresent());
+        assertFalse(columns.findAll(criteria("order", "NAME")).isPresent());
+        assertEquals(10, count(criteria("order", "NAME")));
+    }
+
+    @Test
+    public void materializesTheStoredRow() {
+        Player player = newPlayers(1).get(0);
+        columns.put(player);
+
+        Player found = findAll(criteria()).get(0);
+
+        assertEquals(player.getId(), found.getId());
+        assertEquals(player.getName(), found.getName());
+        assertEquals(player.getTitle(), found.getTitle());
+        assertEquals(player.getRace(), found.getRace());
+        assertEquals(player.getProfession(), found.getProfession());
+        assertEquals(DateUtils.toLocalDate(player.getBirthday().getTime()),
+                DateUtils.toLocalDate(found.getBirthday().getTime()));
+        assertEquals(player.isBanned(), found.isBanned());
+        assertEquals(player.getExperience(), found.getExperience());
+        assertEquals(player.getLevel(), found.getLevel());
+        assertEquals(player.getUntilNextLevel(), found.getUntilNextLevel());
+    }
+
+    private void assertRandomQueries(int queries) {
+        for (int i = 0; i < queries; i++) {
+            Map<String, String> params = randomParams();
+            PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+            List<Player> expected = scan(params, criteria);
+
+            assertEquals(params.toString(), expected.size(), count(criteria));
+
+            int from = Math.min(criteria.getOffset(), expected.size());
+            int to = Math.min(from + criteria.getPageSize(), expected.size());
+            List<Long> expectedIds = expected.subList(from, to).stream().map(Player::getId).collect(Collectors.toList());
+            List<Long> ids = findAll(criteria).stream().map(Player::getId).collect(Collectors.toList());
+            assertEquals(params.toString(), expectedIds, ids);
+        }
+    }
+
+    private List<Player> scan(Map<String, String> params, PlayerCriteria criteria) {
+        Predicate<Player> filter = player -> true;
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String value = param.getValue();
+            switch (param.getKey()) {
+                case "race":
+                    filter = filter.and(p -> p.getRace() == Race.valueOf(value));
+                    break;
+                case "profession":
+                    filter = filter.and(p -> p.getProfession() == Profession.valueOf(value));
+                    break;
+                case "banned":
+                    filter = filter.and(p -> p.isBanned() == Boolean.parseBoolean(value));
+                    break;
+                case "after":
+                    filter = filter.and(p -> !DateUtils.toLocalDate(p.getBirthday().getTime())
+                            .isBefore(DateUtils.toLocalDate(Long.parseLong(value))));
+                    break;
+                case "minExperience":
+                    filter = filter.and(p -> p.getExperience() >= Integer.parseInt(value));
+                    break;
+                case "maxLevel":
+                    filter = filter.and(p -> p.getLevel() <= Integer.parseInt(value));
+                    break;
+            }
+        }
+        return players.values().stream()
+                .filter(filter)
+                .sorted(comparator(criteria.getOrder()).thenComparing(Player::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static Comparator<Player> comparator(PlayerOrder order) {
+        switch (order) {
+            case BIRTHDAY:
+                return Comparator.comparing(p -> DateUtils.toLocalDate(p.getBirthday().getTime()));
+            case EXPERIENCE:
+                return Comparator.comparingInt(Player::getExperience);
+            case LEVEL:
+                return Comparator.comparingInt(Player::getLevel);
+            default:
+                return Comparator.comparingLong(Player::getId);
+        }
+    }
+
+    private Map<String, String> randomParams() {
+        Map<String, String> params = new HashMap<>();
+        if (random.nextBoolean()) {
+            params.put("race", Race.values()[random.nextInt(Race.values().length)].name());
+        }
+        if (random.nextInt(3) == 0) {
+            params.put("profession", Profession.values()[random.nextInt(Profession.values().length)].name());
+        }
+        if (random.nextInt(3) == 0) {
+            params.put("banned", String.valueOf(random.nextBoolean()));
+        }
+        if (random.nextInt(3) == 0) {
+            params.put("after", String.valueOf(MIN_BIRTHDAY + random.nextInt(1000) * DAY));
+        }
+        if (random.nextInt(3) == 0) {
+            params.put("minExperience", String.valueOf(random.nextInt(10_000)));
+        }
+        if (random.nextInt(3) == 0) {
+            params.put("maxLevel", String.valueOf(random.nextInt(100)));
+        }
+        PlayerOrder order;
+        do {
+            order = PlayerOrder.values()[random.nextInt(PlayerOrder.values().length)];
+        } while (order == PlayerOrder.NAME);
+        params.put("order", order.name());
+        params.put("pageSize", String.valueOf(1 + random.nextInt(20)));
+        params.put("pageNumber", String.valueOf(random.nextInt(5)));
+        return params;
+    }
+
+    private List<Player> newPlayers(int count) {
+        List<Player> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Player player = new Player();
+            player.setId(nextId++);
+            player.setName(randomString(2 + random.nextInt(6)));
+            player.setTitle(randomString(5));
+            player.setRace(Race.values()[random.nextInt(Race.values().length)]);
+            player.setProfession(Profession.values()[random.nextInt(Profession.values().length)]);
+            player.setBirthday(new Date(MIN_BIRTHDAY + random.nextInt(1000) * DAY + random.nextInt((int) DAY)));
+            player.setBanned(random.nextInt(5) == 0);
+            player.setExperience(random.nextInt(10_000));
+            player.setLevel(random.nextInt(100));
+            player.setUntilNextLevel(random.nextInt(1000));
+            players.put(player.getId(), player);
+            created.add(player);
+        }
+        return created;
+    }
+
+    private Long randomId() {
+        List<Long> ids = new ArrayList<>(players.keySet());
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String randomString(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(chars);
+    }
+
+    private static Player copy(Player player, Race race, int experience) {
+        Player copy = new Player();
+        copy.setId(player.getId());
+        copy.setName(player.getName());
+        copy.setTitle(player.getTitle());
+        copy.setRace(race);
+        copy.setProfession(player.getProfession());
+        copy.setBirthday(player.getBirthday());
+        copy.setBanned(player.isBanned());
+        copy.setExperience(experience);
+        copy.setLevel(player.getLevel());
+        copy.setUntilNextLevel(player.getUntilNextLevel());
+        return copy;
+    }
+
+    private int count(PlayerCriteria criteria) {
+        return columns.count(criteria).getAsInt();
+    }
+
+    private List<Player> findAll(PlayerCriteria criteria) {
+        return columns.findAll(criteria).get();
+    }
+
+    private static PlayerCriteria criteria(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return PlayerCriteria.fromParams(paramMap);
+    }
+}
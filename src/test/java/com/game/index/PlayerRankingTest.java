@@ -0,0 +1,126 @@
+package com.game.index;
+
+import com.game.controller.response.RankedPlayer;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerRankingTest {
+
+    private final PlayerRanking ranking = new PlayerRanking();
+
+    @Test
+    public void equalExperienceIsBrokenById() {
+        ranking.putAll(Arrays.asList(
+                player(3L, Race.HUMAN, Profession.WARRIOR, 100, false),
+                player(1L, Race.ELF, Profession.WARRIOR, 100, false),
+                player(4L, Race.HUMAN, Profession.WARRIOR, 200, false),
+                player(2L, Race.HUMAN, Profession.WARRIOR, 100, false)));
+
+        assertEquals(Arrays.asList(4L, 1L, 2L, 3L), ids(ranking.top(null, null, 10)));
+        assertEquals(3, ranking.rankOf(2L, null, null).get().getRank());
+        assertEquals(Arrays.asList(4L, 2L, 3L), ids(ranking.top(Race.HUMAN, Profession.WARRIOR, 10)));
+        assertEquals(2, ranking.rankOf(2L, Race.HUMAN, Profession.WARRIOR).get().getRank());
+    }
+
+    @Test
+    public void bannedPlayerLeavesAndReentersTheRanking() {
+        ranking.putAll(Arrays.asList(
+                player(1L, Race.ORC, Profession.ROGUE, 30, false),
+                player(2L, Race.ORC, Profession.ROGUE, 20, false),
+                player(3L, Race.ORC, Profession.ROGUE, 10, false)));
+
+        ranking.update(2L, p -> player(2L, Race.ORC, Profession.ROGUE, 20, true));
+        assertEquals(Arrays.asList(1L, 3L), ids(ranking.top(null, null, 10)));
+        assertEquals(Arrays.asList(1L, 3L), ids(ranking.top(Race.ORC, Profession.ROGUE, 10)));
+        assertFalse(ranking.rankOf(2L, Race.ORC, null).isPresent());
+        assertTrue(ranking.around(2L, null, Profession.ROGUE, 1).isEmpty());
+        assertEquals(2, ranking.rankOf(3L, null, null).get().getRank());
+        assertEquals(3, ranking.size());
+
+        ranking.update(2L, p -> player(2L, Race.ORC, Profession.ROGUE, 40, false));
+        assertEquals(Arrays.asList(2L, 1L, 3L), ids(ranking.top(null, null, 10)));
+        assertEquals(Arrays.asList(2L, 1L, 3L), ids(ranking.top(Race.ORC, Profession.ROGUE, 10)));
+        assertEquals(1, ranking.rankOf(2L, Race.ORC, null).get().getRank());
+    }
+
+    @Test
+    public void nullRaceOrProfessionIsRankedOnlyWhereNotFiltered() {
+        ranking.putAll(Arrays.asList(
+                player(1L, null, Profession.SORCERER, 30, false),
+                player(2L, Race.DWARF, null, 20, false),
+                player(3L, Race.DWARF, Profession.SORCERER, 10, false)));
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(ranking.top(null, null, 10)));
+        assertEquals(Arrays.asList(1L, 3L), ids(ranking.top(null, Profession.SORCERER, 10)));
+        assertEquals(Arrays.asList(2L, 3L), ids(ranking.top(Race.DWARF, null, 10)));
+        assertEquals(Arrays.asList(3L), ids(ranking.top(Race.DWARF, Profession.SORCERER, 10)));
+        assertFalse(ranking.rankOf(1L, Race.DWARF, null).isPresent());
+        assertFalse(ranking.rankOf(2L, null, Profession.SORCERER).isPresent());
+
+        // a race set later moves the player into the race lists
+        ranking.update(1L, p -> player(1L, Race.DWARF, Profession.SORCERER, 30, false));
+        assertEquals(Arrays.asList(1L, 3L), ids(ranking.top(Race.DWARF, Profession.SORCERER, 10)));
+    }
+
+    @Test
+    public void aroundIsCutAtTheFirstAndLastRank() {
+        ranking.putAll(Arrays.asList(
+                player(1L, Race.HOBBIT, Profession.DRUID, 50, false),
+                player(2L, Race.HOBBIT, Profession.DRUID, 40, false),
+                player(3L, Race.HOBBIT, Profession.DRUID, 30, false),
+                player(4L, Race.HOBBIT, Profession.DRUID, 20, false),
+                player(5L, Race.HOBBIT, Profession.DRUID, 10, false)));
+
+        List<RankedPlayer> first = ranking.around(1L, null, null, 2);
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(first));
+        assertEquals(Arrays.asList(1, 2, 3), ranks(first));
+
+        List<RankedPlayer> last = ranking.around(5L, Race.HOBBIT, Profession.DRUID, 2);
+        assertEquals(Arrays.asList(3L, 4L, 5L), ids(last));
+        assertEquals(Arrays.asList(3, 4, 5), ranks(last));
+
+        assertEquals(Arrays.asList(5L), ids(ranking.around(5L, null, null, 0)));
+        assertTrue(ranking.around(404L, null, null, 2).isEmpty());
+    }
+
+    @Test
+    public void returnsCopies() {
+        Player player = player(1L, Race.GIANT, Profession.PALADIN, 10, false);
+        ranking.put(player);
+        player.setExperience(-1);
+
+        Player ranked = ranking.top(null, null, 1).get(0).getPlayer();
+        ranked.setExperience(-2);
+
+        assertEquals(10, ranking.top(null, null, 1).get(0).getPlayer().getExperience());
+    }
+
+    private static List<Long> ids(List<RankedPlayer> ranked) {
+        return ranked.stream().map(player -> player.getPlayer().getId()).collect(Collectors.toList());
+    }
+
+    private static List<Integer> ranks(List<RankedPlayer> ranked) {
+        return ranked.stream().map(RankedPlayer::getRank).collect(Collectors.toList());
+    }
+
+    private static Player player(Long id, Race race, Profession profession, int experience, boolean banned) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName("player" + id);
+        player.setRace(race);
+        player.setProfession(profession);
+        player.setExperience(experience);
+        player.setBanned(banned);
+        return player;
+    }
+}
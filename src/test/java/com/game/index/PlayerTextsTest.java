@@ -0,0 +1,126 @@
+package com.game.index;
+
+import com.game.entity.Player;
+import com.game.repository.query.PlayerCriteria;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerTextsTest {
+
+    private final PlayerTexts texts = new PlayerTexts(Integer.MAX_VALUE);
+
+    /**
+     * Candidates may hold players the filter does not match, the database drops those, but never
+     * miss one it does.
+     */
+    @Test
+    public void candidatesHoldEveryMatch() {
+        List<String> names = Arrays.asList("Ниус", "Никрашш", "Эззэссэль", "Бэлан", "Элеонора", "Эракс",
+                "Аракарн", "Ардайнис", "Бабаабаб", "Абабаба");
+        for (int i = 0; i < names.size(); i++) {
+            put(i + 1L, names.get(i), null);
+        }
+
+        for (String part : Arrays.asList("ник", "эсс", "ара", "раК", "ааб", "баба", "абаб", "ардайн", "лан")) {
+            List<Long> candidates = new ArrayList<>();
+            Arrays.stream(texts.candidates(criteria("name", part)).get()).forEach(candidates::add);
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).toLowerCase(Locale.ROOT).contains(part.toLowerCase(Locale.ROOT))) {
+                    assertTrue(part + " " + candidates, candidates.contains(i + 1L));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void followsWrites() {
+        put(1L, "Ниус", "Высший Арбитр");
+        put(2L, "Никрашш", "НайтВульф");
+        put(3L, "Эззэссэль", "Шипящая");
+
+        texts.update(1L, player -> player(player.getId(), "Бэлан", player.getTitle()));
+        texts.remove(2L);
+        put(4L, "Нирон", "Арбитр");
+
+        assertCandidates(criteria("name", "ниу"));
+        assertCandidates(criteria("name", "бэл"), 1L);
+        assertCandidates(criteria("title", "арб"), 1L, 4L);
+        assertCandidates(criteria("title", "вул"));
+    }
+
+    @Test
+    public void foldsCaseAndAccents() {
+        put(1L, "Éclair", "Ёжик в тумане");
+        put(2L, "ECLAT", "Ежиха");
+        put(3L, "Eclipse", null);
+        put(4L, "Lumière", "Café");
+
+        assertCandidates(criteria("name", "écl"), 1L, 2L, 3L);
+        assertCandidates(criteria("name", "ecla"), 1L, 2L);
+        assertCandidates(criteria("title", "ЕЖИ"), 1L, 2L);
+        assertCandidates(criteria("name", "miere", "title", "cafe"), 4L);
+        assertCandidates(criteria("name", "xyz"));
+    }
+
+    @Test
+    public void irregularValuesAreAlwaysCandidates() {
+        put(1L, "Straße", "Ritter");
+        put(2L, "Strasse", "Ritter");
+        put(3L, "Weg", "Ritter");
+
+        // utf8mb4_0900_ai_ci has ß equal to ss, which the folding does not know
+        assertCandidates(criteria("name", "strass"), 1L, 2L);
+        assertCandidates(criteria("name", "weg"), 1L, 3L);
+        // every trigram of the part holds the ß, nothing is left to narrow with
+        assertFalse(texts.candidates(criteria("name", "aßb")).isPresent());
+    }
+
+    @Test
+    public void shortOrBroadFiltersDoNotNarrow() {
+        PlayerTexts limited = new PlayerTexts(2);
+        limited.put(player(1L, "Ниус", "Арбитр"));
+        limited.put(player(2L, "Нирон", "Арбитр"));
+        limited.put(player(3L, "Нимрод", "Арбалетчик"));
+        put(1L, "Ниус", "Арбитр");
+
+        assertFalse(texts.candidates(criteria()).isPresent());
+        assertFalse(texts.candidates(criteria("race", "ELF")).isPresent());
+        assertFalse(texts.candidates(criteria("name", "ни")).isPresent());
+        assertFalse(limited.candidates(criteria("title", "арб")).isPresent());
+        assertTrue(limited.candidates(criteria("title", "арбит")).isPresent());
+    }
+
+    private void put(Long id, String name, String title) {
+        texts.put(player(id, name, title));
+    }
+
+    private void assertCandidates(PlayerCriteria criteria, long... ids) {
+        assertArrayEquals(criteria.toString(), ids, texts.candidates(criteria).get());
+    }
+
+    private static Player player(Long id, String name, String title) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName(name);
+        player.setTitle(title);
+        return player;
+    }
+
+    private static PlayerCriteria criteria(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return PlayerCriteria.fromParams(paramMap);
+    }
+}
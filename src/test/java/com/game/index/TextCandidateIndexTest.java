@@ -0,0 +1,174 @@
+package com.game.index;
+
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import com.game.service.PlayerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Queries narrowed by player.text-index.enabled give the database's answers without the candidates.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+@TestPropertySource(properties = "player.text-index.enabled=true")
+public class TextCandidateIndexTest {
+
+    @Autowired
+    private PlayerIndex playerIndex;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerQueryFactory queryFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void reloadIndex() {
+        // test.sql rewrites the table behind the application's back
+        playerIndex.invalidate();
+    }
+
+    @Test
+    public void answersLikeTheDatabase() {
+        assertSameAsDatabase("name", "лан");
+        assertSameAsDatabase("name", "ЛАН");
+        assertSameAsDatabase("title", "эльфе");
+        assertSameAsDatabase("title", "вои", "race", "GIANT");
+        assertSameAsDatabase("name", "ар", "title", "ель");
+        assertSameAsDatabase("name", "щщщ");
+        assertTrue(playerIndex.candidates(PlayerCriteria.fromParams(params("name", "лан"))).isPresent());
+    }
+
+    @Test
+    public void noCandidateMeansNoMatchWithoutAQuery() {
+        assertArrayEquals(new long[0], playerIndex.candidates(PlayerCriteria.fromParams(params("title", "щщщ"))).get());
+        assertEquals(0, playerService.findPageByParams(params("title", "щщщ")).getTotal());
+        assertEquals(0, playerService.findFacetsByParams(params("title", "щщщ")).getTotal());
+        assertEquals(0, playerService.exportAllByParams(params("title", "щщщ"), player -> {
+        }));
+    }
+
+    @Test
+    public void followsTheCaseInsensitiveCollation() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN title VARCHAR_IGNORECASE(30)");
+        try {
+            // Эльфёнок and эльфенок are both candidates, the database only matches the second
+            assertSameAsDatabase("title", "ЭЛЬФЕ");
+            assertSameAsDatabase("title", "воин");
+            assertEquals(2, playerService.countAllByParams(params("title", "ЭЛЬФ")));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE player ALTER COLUMN title VARCHAR(30)");
+        }
+    }
+
+    @Test
+    public void followsServiceWrites() {
+        Map<String, String> byName = params("name", "Тригр");
+        assertEquals(0, playerService.countAllByParams(byName));
+
+        Player saved = playerService.save(playerService.create(dto("Тригрис")));
+        assertEquals(1, playerService.countAllByParams(byName));
+
+        PlayerDTO update = new PlayerDTO();
+        update.setName("Квадрис");
+        playerService.update(saved.getId(), update);
+        assertEquals(0, playerService.countAllByParams(byName));
+        assertEquals(1, playerService.countAllByParams(params("name", "адри")));
+
+        playerService.delete(saved.getId());
+        assertEquals(0, playerService.countAllByParams(params("name", "адри")));
+    }
+
+    private void assertSameAsDatabase(String... params) {
+        Map<String, String> paramMap = params(params);
+        List<Long> expected = databaseIds(paramMap);
+
+        assertEquals(paramMap.toString(), expected.size(), playerService.countAllByParams(paramMap));
+        assertEquals(paramMap.toString(), expected, ids(playerService.findAllByParams(withPageSize(paramMap))));
+        assertEquals(paramMap.toString(), expected,
+                ids(playerService.findPageByParams(withPageSize(paramMap)).getPlayers()));
+        assertEquals(paramMap.toString(), expected,
+                ids(playerService.findSliceByParams(withPageSize(paramMap)).getPlayers()));
+        assertEquals(paramMap.toString(), expected.size(), playerService.findFacetsByParams(paramMap).getTotal());
+        List<Long> exported = new ArrayList<>();
+        playerService.exportAllByParams(paramMap, player -> exported.add(player.getId()));
+        assertEquals(paramMap.toString(), expected, exported);
+    }
+
+    /**
+     * Ids of all matching players in the criteria order, from the SQL without candidates.
+     */
+    private List<Long> databaseIds(Map<String, String> params) {
+        PlayerQuery select = queryFactory.select(PlayerCriteria.fromParams(params));
+        return new JdbcTemplate(dataSource).query(select.getSql(), (resultSet, row) -> resultSet.getLong("id"),
+                select.getParameters().toArray());
+    }
+
+    private static Map<String, String> withPageSize(Map<String, String> params) {
+        Map<String, String> paged = new LinkedHashMap<>(params);
+        paged.put(PlayerCriteria.PAGE_SIZE, "100");
+        return paged;
+    }
+
+    private static List<Long> ids(List<Player> players) {
+        return players.stream().map(Player::getId).collect(Collectors.toList());
+    }
+
+    private static PlayerDTO dto(String name) {
+        PlayerDTO dto = new PlayerDTO();
+        dto.setName(name);
+        dto.setTitle("Тестовый");
+        dto.setRace(Race.ELF);
+        dto.setProfession(Profession.ROGUE);
+        dto.setBirthday(1_000_000_000_000L);
+        dto.setBanned(false);
+        dto.setExperience(1000);
+        return dto;
+    }
+
+    private static Map<String, String> params(String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        return Collections.unmodifiableMap(paramMap);
+    }
+}
@@ -0,0 +1,80 @@
+package com.game.metrics;
+
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryStatisticsTest {
+
+    private final PlayerQueryFactory factory = new PlayerQueryFactory();
+
+    @Test
+    public void shapesAreAggregatedAndSortedByMaxTime() {
+        QueryStatistics statistics = new QueryStatistics(500, 10);
+        statistics.record(count("race", "ELF"), millis(2));
+        statistics.record(count("race", "ORC"), millis(8));
+        statistics.record(count("name", "ab"), millis(5));
+
+        List<QueryShapeMetrics> slowest = statistics.slowest(10);
+
+        assertEquals(2, slowest.size());
+        assertEquals("COUNT [race]", slowest.get(0).getFingerprint());
+        assertEquals(2, slowest.get(0).getCount());
+        assertEquals(10, slowest.get(0).getTotalMillis());
+        assertEquals(5_000, slowest.get(0).getMeanMicros());
+        assertEquals(8_000, slowest.get(0).getMaxMicros());
+        assertEquals("COUNT [name]", slowest.get(1).getFingerprint());
+        assertEquals(1, statistics.slowest(1).size());
+    }
+
+    @Test
+    public void shapesOverTheLimitAreNotTracked() {
+        QueryStatistics statistics = new QueryStatistics(500, 1);
+        statistics.record(count("race", "ELF"), millis(1));
+        statistics.record(count("name", "ab"), millis(1));
+        statistics.record(count("race", "ORC"), millis(1));
+
+        List<QueryShapeMetrics> slowest = statistics.slowest(10);
+        assertEquals(1, slowest.size());
+        assertEquals(2, slowest.get(0).getCount());
+    }
+
+    @Test
+    public void recordReturnsTheResult() {
+        QueryStatistics statistics = new QueryStatistics(500, 10);
+
+        assertEquals(Integer.valueOf(7), statistics.record(count("race", "ELF"), () -> 7));
+        assertEquals(1, statistics.slowest(10).get(0).getCount());
+    }
+
+    @Test
+    public void rowsOfAListResultAreAddedToTheRequest() {
+        QueryStatistics statistics = new QueryStatistics(500, 10);
+        RequestMetrics metrics = new RequestMetrics(System.nanoTime());
+        RequestMetrics.bind(metrics);
+        try {
+            statistics.record(count("race", "ELF"), () -> Arrays.asList(1, 2, 3));
+            statistics.record(count("race", "ELF"), () -> 7);
+        } finally {
+            RequestMetrics.unbind();
+        }
+
+        assertEquals(3, metrics.getRows());
+    }
+
+    private PlayerQuery count(String param, String value) {
+        return factory.count(PlayerCriteria.fromParams(Collections.singletonMap(param, value)));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,27 @@
+package com.game.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class RequestMetricsInterceptorTest {
+
+    @Test
+    public void summaryIsOneKeyValueLine() {
+        String summary = RequestMetricsInterceptor.summary("GET", "/rest/players/{id}", 200,
+                TimeUnit.MICROSECONDS.toNanos(3_250), TimeUnit.MICROSECONDS.toNanos(1_500), 1, null);
+
+        assertEquals("method=GET uri=/rest/players/{id} status=200 timeMs=3.25 dbMs=1.5 rows=1", summary);
+    }
+
+    @Test
+    public void summaryNamesUnhandledException() {
+        String summary = RequestMetricsInterceptor.summary("POST", "/rest/players", 500, 0, 0, 0,
+                new IllegalStateException("boom"));
+
+        assertEquals("method=POST uri=/rest/players status=500 timeMs=0.0 dbMs=0.0 rows=0 error=IllegalStateException",
+                summary);
+    }
+}
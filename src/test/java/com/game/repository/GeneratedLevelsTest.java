@@ -0,0 +1,130 @@
+package com.game.repository;
+
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the player.schema.generated-levels mode: level and untilNextLevel follow experience
+ * whichever way a row is written, and level filters still use the index.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+@TestPropertySource(properties = "player.schema.generated-levels=true")
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+public class GeneratedLevelsTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerBatchWriter batchWriter;
+
+    @Autowired
+    private PlayerQueryFactory queryFactory;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    public void singleUpdateRecomputesAllLevels() {
+        jdbcTemplate.update("UPDATE player SET experience = 2500");
+
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM player WHERE level <> 6 OR untilNextLevel <> 300", Integer.class));
+        assertEquals(40L, count(Collections.singletonMap("minLevel", "6")));
+        assertEquals(0L, count(Collections.singletonMap("minLevel", "7")));
+    }
+
+    @Test
+    public void batchInsertLeavesLevelsToDatabase() {
+        Player player = player(2800);
+        batchWriter.insert(Collections.singletonList(player));
+
+        assertLevels(player.getId(), 7, 800);
+    }
+
+    @Test
+    public void entityUpdateRecomputesLevels() {
+        Player player = playerRepository.save(player(0));
+        assertLevels(player.getId(), 0, 100);
+
+        player.setExperience(5000);
+        playerRepository.save(player);
+
+        assertLevels(player.getId(), 9, 500);
+    }
+
+    @Test
+    public void levelRangeUsesIndex() {
+        PlayerQuery query = queryFactory.count(PlayerCriteria.fromParams(Collections.singletonMap("minLevel", "50")));
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.getSql(), String.class,
+                query.getParameters().toArray());
+
+        assertTrue("Expected idx_player_level in plan: " + plan,
+                plan.toLowerCase(Locale.ROOT).contains("idx_player_level"));
+    }
+
+    private long count(Map<String, String> params) {
+        PlayerQuery query = queryFactory.count(PlayerCriteria.fromParams(params));
+        return jdbcTemplate.queryForObject(query.getSql(), Long.class, query.getParameters().toArray());
+    }
+
+    private void assertLevels(Long id, int level, int untilNextLevel) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT level, untilNextLevel FROM player WHERE id = ?", id);
+        assertEquals(level, ((Number) row.get("level")).intValue());
+        assertEquals(untilNextLevel, ((Number) row.get("untilNextLevel")).intValue());
+    }
+
+    private static Player player(int experience) {
+        Player player = new Player();
+        player.setName("Generated");
+        player.setTitle("Level check");
+        player.setRace(Race.HUMAN);
+        player.setProfession(Profession.WARRIOR);
+        player.setBirthday(new Date(1_000_000_000_000L));
+        player.setExperience(experience);
+        // deliberately wrong, the database has the last word
+        player.setLevel(99);
+        player.setUntilNextLevel(99);
+        return player;
+    }
+}
@@ -0,0 +1,100 @@
+package com.game.repository;
+
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.repository.query.PlayerCriteria;
+import com.game.repository.query.PlayerQuery;
+import com.game.repository.query.PlayerQueryFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks with EXPLAIN that the common filter combinations are served by the indexes
+ * added in the V2 migration.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class})
+@WebAppConfiguration
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+public class PlayerIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlayerQueryFactory queryFactory;
+
+    @Test
+    public void raceAndProfessionUseCompositeIndex() {
+        assertPlanUses("idx_player_race_profession", false, "race", "ELF", "profession", "SORCERER", "minExperience", "50000");
+    }
+
+    @Test
+    public void professionAndBannedUseCompositeIndex() {
+        assertPlanUses("idx_player_profession_banned", false, "profession", "ROGUE", "banned", "false");
+    }
+
+    @Test
+    public void bannedAndLevelRangeUseCompositeIndex() {
+        assertPlanUses("idx_player_banned_level", false, "banned", "false", "minLevel", "10", "maxLevel", "30");
+    }
+
+    @Test
+    public void experienceRangeUsesIndex() {
+        assertPlanUses("idx_player_experience", false, "minExperience", "100000", "maxExperience", "150000");
+    }
+
+    @Test
+    public void birthdayRangeUsesIndex() {
+        assertPlanUses("idx_player_birthday", false, "after", "1041372000000", "before", "1136066400000");
+    }
+
+    @Test
+    public void levelCountUsesIndex() {
+        assertPlanUses("idx_player_level", true, "minLevel", "50");
+    }
+
+    /**
+     * A name filter is LIKE '%x%', which no B-tree index can seek; the name index only serves the order.
+     */
+    @Test
+    public void nameOrderUsesIndex() {
+        PlayerQuery query = queryFactory.seek(PlayerCriteria.fromParams(Collections.singletonMap("order", "NAME")));
+
+        assertPlanUses("idx_player_name", query);
+    }
+
+    private void assertPlanUses(String index, boolean count, String... params) {
+        Map<String, String> paramMap = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i += 2) {
+            paramMap.put(params[i], params[i + 1]);
+        }
+        PlayerCriteria criteria = PlayerCriteria.fromParams(paramMap);
+        assertPlanUses(index, count ? queryFactory.count(criteria) : queryFactory.select(criteria));
+    }
+
+    private void assertPlanUses(String index, PlayerQuery query) {
+        String plan = new JdbcTemplate(dataSource)
+                .queryForObject("EXPLAIN " + query.getSql(), String.class, query.getParameters().toArray());
+
+        assertTrue("Expected " + index + " in plan: " + plan, plan.toLowerCase(Locale.ROOT).contains(index));
+    }
+}
@@ -0,0 +1,193 @@
+package com.game.repository.query;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.entity.Race;
+import com.game.exception.ValidationException;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PlayerQueryFactoryTest {
+
+    private final PlayerQueryFactory factory = new PlayerQueryFactory();
+
+    @Test
+    public void sameFilterKeysProduceSameSql() {
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("race", "ELF");
+        first.put("minLevel", "10");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("minLevel", "20");
+        second.put("race", "ORC");
+
+        PlayerQuery firstQuery = factory.select(PlayerCriteria.fromParams(first));
+        PlayerQuery secondQuery = factory.select(PlayerCriteria.fromParams(second));
+
+        assertSame(firstQuery.getSql(), secondQuery.getSql());
+        assertEquals("SELECT * FROM player WHERE 1=1 AND race = ? AND level >= ? ORDER BY id", firstQuery.getSql());
+        assertEquals(Arrays.asList("ORC", 20), secondQuery.getParameters());
+    }
+
+    @Test
+    public void valuesAreBoundNotInlined() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("name", "' OR '1'='1");
+        params.put("after", "1041372000000");
+        params.put("order", "LEVEL");
+
+        PlayerQuery query = factory.select(PlayerCriteria.fromParams(params));
+
+        assertEquals("SELECT * FROM player WHERE 1=1 AND name LIKE ? AND birthday >= ? ORDER BY level", query.getSql());
+        LocalDate after = (LocalDate) PlayerFilter.AFTER.parse("1041372000000");
+        assertEquals(Arrays.asList("%' OR '1'='1%", Date.valueOf(after)), query.getParameters());
+    }
+
+    @Test
+    public void likeWildcardsAreEscaped() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("title", "50%_off");
+
+        PlayerQuery query = factory.count(PlayerCriteria.fromParams(params));
+
+        assertEquals("SELECT COUNT(*) FROM player WHERE 1=1 AND title LIKE ?", query.getSql());
+        assertEquals(Arrays.asList("%50\\%\\_off%"), query.getParameters());
+    }
+
+    @Test
+    public void facetsGroupTheFilteredRows() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("banned", "false");
+        params.put("order", "LEVEL");
+
+        PlayerQuery query = factory.facets(PlayerCriteria.fromParams(params), 10);
+
+        assertEquals("SELECT race, profession, FLOOR(level / ?) AS level_bucket, COUNT(*) FROM player"
+                + " WHERE 1=1 AND banned = ? GROUP BY race, profession, level_bucket", query.getSql());
+        assertEquals(Arrays.asList(10, false), query.getParameters());
+    }
+
+    @Test
+    public void pagingAndOrderAreNotFilters() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("pageNumber", "2");
+        params.put("pageSize", "5");
+        params.put("order", "NAME");
+
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+
+        assertEquals(0, criteria.getShape());
+        assertEquals(PlayerOrder.NAME, criteria.getOrder());
+        assertEquals(10, criteria.getOffset());
+    }
+
+    @Test(expected = ValidationException.class)
+    public void unknownParameterIsRejected() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("id; DROP TABLE player", "1");
+
+        PlayerCriteria.fromParams(params);
+    }
+
+    @Test(expected = ValidationException.class)
+    public void malformedNumberIsRejected() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("minExperience", "1 OR 1=1");
+
+        PlayerCriteria.fromParams(params);
+    }
+
+    @Test(expected = ValidationException.class)
+    public void offsetBeyondIntIsRejected() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("pageNumber", "100000000");
+        params.put("pageSize", "100");
+
+        PlayerCriteria.fromParams(params);
+    }
+
+    @Test
+    public void updateSetsOnlyGivenColumnsInDeclarationOrder() {
+        PlayerUpdate update = new PlayerUpdate()
+                .set(PlayerUpdate.Column.BANNED, true)
+                .set(PlayerUpdate.Column.NAME, "Name")
+                .set(PlayerUpdate.Column.RACE, Race.ELF);
+
+        PlayerQuery query = factory.update(7L, update);
+
+        assertEquals("UPDATE player SET name = ?, race = ?, banned = ? WHERE id = ?", query.getSql());
+        assertEquals(Arrays.asList("Name", "ELF", true, 7L), query.getParameters());
+        assertSame(query.getSql(), factory.update(8L, new PlayerUpdate()
+                .set(PlayerUpdate.Column.RACE, Race.ORC)
+                .set(PlayerUpdate.Column.NAME, "Other")
+                .set(PlayerUpdate.Column.BANNED, false)).getSql());
+    }
+
+    @Test
+    public void updateAppliesToCopy() {
+        Player player = new Player();
+        player.setId(3L);
+        player.setName("Before");
+        player.setExperience(10);
+
+        Player updated = new PlayerUpdate().set(PlayerUpdate.Column.NAME, "After").applyTo(player);
+
+        assertEquals("Before", player.getName());
+        assertEquals("After", updated.getName());
+        assertEquals(Long.valueOf(3L), updated.getId());
+        assertEquals(10, updated.getExperience());
+    }
+
+    @Test
+    public void updateLeavesOutGeneratedLevels() {
+        PlayerUpdate update = new PlayerUpdate()
+                .set(PlayerUpdate.Column.EXPERIENCE, 2500)
+                .set(PlayerUpdate.Column.LEVEL, 6)
+                .set(PlayerUpdate.Column.UNTIL_NEXT_LEVEL, 300);
+
+        PlayerQuery query = new PlayerQueryFactory(true).update(7L, update);
+
+        assertEquals("UPDATE player SET experience = ? WHERE id = ?", query.getSql());
+        assertEquals(Arrays.asList(2500, 7L), query.getParameters());
+    }
+
+    @Test
+    public void fingerprintNamesParamsWithoutValues() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("minLevel", "10");
+        params.put("race", "ELF");
+        params.put("order", "LEVEL");
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+
+        assertEquals("SELECT [race,minLevel] order=LEVEL", factory.select(criteria).getFingerprint());
+        assertEquals("COUNT [race,minLevel]", factory.count(criteria).getFingerprint());
+        assertEquals("UPDATE [name,banned]", factory.update(1L, new PlayerUpdate()
+                .set(PlayerUpdate.Column.BANNED, true)
+                .set(PlayerUpdate.Column.NAME, "Name")).getFingerprint());
+    }
+
+    @Test
+    public void candidatesArePaddedToAPowerOfTwo() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("name", "abc");
+        PlayerCriteria criteria = PlayerCriteria.fromParams(params);
+
+        PlayerQuery three = factory.count(criteria.withCandidates(new long[]{3, 5, 8}));
+        PlayerQuery four = factory.count(criteria.withCandidates(new long[]{1, 2, 3, 4}));
+        PlayerQuery one = factory.count(criteria.withCandidates(new long[]{7}));
+
+        assertEquals("SELECT COUNT(*) FROM player WHERE 1=1 AND name LIKE ? AND id IN (?, ?, ?, ?)", three.getSql());
+        assertSame(three.getSql(), four.getSql());
+        assertEquals(Arrays.asList("%abc%", 3L, 5L, 8L, 8L), three.getParameters());
+        assertEquals("COUNT [name] candidates=4", three.getFingerprint());
+        assertEquals("SELECT COUNT(*) FROM player WHERE 1=1 AND name LIKE ? AND id IN (?)", one.getSql());
+        assertEquals("SELECT COUNT(*) FROM player WHERE 1=1 AND name LIKE ?", factory.count(criteria).getSql());
+    }
+}
@@ -0,0 +1,96 @@
+package com.game.service.impl;
+
+import com.game.cache.CaffeineQueryResultCache;
+import com.game.cache.QueryResultCache;
+import com.game.config.AppConfig;
+import com.game.config.MyWebAppInit;
+import com.game.config.WebConfig;
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Race;
+import com.game.index.PlayerIndex;
+import com.game.service.PlayerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * An update whose cache and index patch waits for an earlier update of the same player must not
+ * leave results built from the unpatched index in the query cache.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = {AppConfig.class, MyWebAppInit.class, WebConfig.class,
+        HeldBackUpdateTest.QueryCacheConfig.class})
+@WebAppConfiguration
+@Sql(scripts = "classpath:test.sql", config = @SqlConfig(encoding = "UTF-8"))
+@TestPropertySource(properties = "player.index.enabled=true")
+public class HeldBackUpdateTest {
+
+    @Configuration
+    static class QueryCacheConfig {
+
+        // the dev profile has no query cache
+        @Bean
+        @Primary
+        public QueryResultCache cachingQueryResultCache() {
+            return new CaffeineQueryResultCache(100, Duration.ofMinutes(1));
+        }
+    }
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerIndex playerIndex;
+
+    @Autowired
+    private QueryResultCache queryCache;
+
+    private UpdateSequencer updateSequencer;
+
+    @Before
+    public void setUp() {
+        // test.sql rewrites the table behind the application's back
+        playerIndex.invalidate();
+        queryCache.invalidate();
+        updateSequencer = (UpdateSequencer) ReflectionTestUtils.getField(
+                AopTestUtils.<Object>getTargetObject(playerService), "updateSequencer");
+    }
+
+    @Test
+    public void heldBackPatchInvalidatesTheQueryCache() {
+        Map<String, String> trolls = Collections.singletonMap("race", "TROLL");
+        int before = playerService.countAllByParams(trolls);
+
+        // an earlier update of player 1 that has not ended yet
+        UpdateSequencer.Ticket earlier = updateSequencer.take(1L);
+        PlayerDTO update = new PlayerDTO();
+        update.setRace(Race.TROLL);
+        playerService.update(1L, update);
+
+        // the index has not seen the update, and the count is cached as it is
+        assertEquals(before, playerService.countAllByParams(trolls));
+
+        updateSequencer.end(earlier, null);
+        assertEquals(before + 1, playerService.countAllByParams(trolls));
+    }
+}
@@ -0,0 +1,48 @@
+package com.game.service.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LevelCalculatorTest {
+
+    private final LevelCalculator calculator = new LevelCalculator();
+
+    @Test
+    public void matchesFormulaForEveryExperience() {
+        for (int experience = 0; experience <= PlayerValidationServiceImpl.MAX_EXPERIENCE_VALUE; experience++) {
+            int expectedLevel = (int) ((Math.sqrt(2500d + 200 * experience) - 50) / 100);
+            int expectedUntilNextLevel = 50 * (expectedLevel + 1) * (expectedLevel + 2) - experience;
+
+            int level = calculator.level(experience);
+            if (level != expectedLevel) {
+                assertEquals("level of " + experience, expectedLevel, level);
+            }
+            int untilNextLevel = calculator.experienceUntilNextLevel(level, experience);
+            if (untilNextLevel != expectedUntilNextLevel) {
+                assertEquals("until next level of " + experience, expectedUntilNextLevel, untilNextLevel);
+            }
+        }
+    }
+
+    @Test
+    public void levelStartsAtThreshold() {
+        assertEquals(0, calculator.level(0));
+        assertEquals(0, calculator.level(99));
+        assertEquals(1, calculator.level(100));
+        assertEquals(1, calculator.level(299));
+        assertEquals(2, calculator.level(300));
+        assertEquals(100, calculator.experienceUntilNextLevel(0, 0));
+        assertEquals(1, calculator.experienceUntilNextLevel(1, 299));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeExperienceIsRejected() {
+        calculator.level(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void experienceAboveMaximumIsRejected() {
+        calculator.level(PlayerValidationServiceImpl.MAX_EXPERIENCE_VALUE + 1);
+    }
+}
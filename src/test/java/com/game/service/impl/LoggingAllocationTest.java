@@ -0,0 +1,101 @@
+package com.game.service.impl;
+
+import com.game.controller.request.PlayerDTO;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * With DEBUG off, the log statements on the request path must not allocate: no varargs arrays,
+ * no boxing, no message building. Validation of a valid request allocates nothing else, so
+ * any allocation measured here comes from logging. An enabled INFO statement, such as the
+ * per-request summary, costs the request thread only its logging event: the async appender
+ * formats and writes on its worker and captures no caller data.
+ */
+public class LoggingAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int CALLS = 100_000;
+    // a logging event is about 72 bytes; formatting the line or capturing caller data costs several times that
+    private static final int INFO_EVENT_BUDGET = 200;
+
+    @Test
+    public void validationLogsWithoutAllocating() {
+        assertFalse(LoggerFactory.getLogger(PlayerValidationServiceImpl.class).isDebugEnabled());
+        PlayerValidationServiceImpl validationService = new PlayerValidationServiceImpl();
+        PlayerDTO request = validRequest();
+        Long id = 1_000L;
+
+        long allocated = allocatedBytes(() -> {
+            validationService.validateCreateRequest(request);
+            validationService.validateUpdateRequest(request);
+            validationService.validateId(id);
+        });
+
+        assertEquals("bytes allocated per call", 0, allocated / CALLS);
+    }
+
+    @Test
+    public void enabledInfoAllocatesOnlyTheEvent() {
+        // the async appender as configured in logback.xml, in a context of its own
+        LoggerContext context = new LoggerContext();
+        NOPAppender<ILoggingEvent> sink = new NOPAppender<>();
+        sink.setContext(context);
+        sink.start();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+        Logger requestLog = context.getLogger("com.game.request");
+        requestLog.setLevel(Level.INFO);
+        requestLog.addAppender(async);
+        String line = "method=GET uri=/rest/players status=200 timeMs=1.234 dbMs=0.567 rows=20";
+        try {
+            long allocated = allocatedBytes(() -> requestLog.info(line));
+
+            assertTrue("bytes allocated per call: " + allocated / CALLS, allocated / CALLS <= INFO_EVENT_BUDGET);
+        } finally {
+            context.stop();
+        }
+    }
+
+    private static long allocatedBytes(Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CALLS; i++) {
+            call.run();
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static PlayerDTO validRequest() {
+        PlayerDTO request = new PlayerDTO();
+        request.setName("Амарог");
+        request.setTitle("Старейшина");
+        request.setRace(Race.GIANT);
+        request.setProfession(Profession.WARRIOR);
+        request.setBirthday(988_059_600_000L);
+        request.setBanned(false);
+        request.setExperience(58_347);
+        return request;
+    }
+}
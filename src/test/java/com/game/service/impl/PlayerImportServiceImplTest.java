@@ -0,0 +1,85 @@
+package com.game.service.impl;
+
+import com.game.cache.NoOpPlayerCache;
+import com.game.cache.NoOpQueryResultCache;
+import com.game.controller.request.PlayerDTO;
+import com.game.controller.response.BulkItemError;
+import com.game.controller.response.ImportStatus;
+import com.game.entity.Player;
+import com.game.index.NoOpPlayerIndex;
+import com.game.metrics.QueryStatistics;
+import com.game.repository.query.PlayerQueryFactory;
+import com.game.service.PlayerImportService;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class PlayerImportServiceImplTest {
+
+    private static final String RECORD = "{\"name\":\"Амарылис\",\"title\":\"Прозелит\",\"race\":\"HUMAN\","
+            + "\"profession\":\"CLERIC\",\"birthday\":988059600000,\"banned\":false,\"experience\":63986}\n";
+
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+    private PlayerImportServiceImpl importService;
+
+    @After
+    public void tearDown() {
+        caller.shutdownNow();
+        importService.destroy();
+    }
+
+    /**
+     * The writer ends while the queue is full and the parser waits for room in it. Nothing drains
+     * the queue any more, and the import must still return instead of blocking the caller forever.
+     */
+    @Test
+    public void writerEndingEarlyDoesNotBlockTheParser() throws Exception {
+        // three chunks validated: the writer holds the first, the second fills the queue of one
+        CountDownLatch validated = new CountDownLatch(3);
+        PlayerValidationServiceImpl validationService = new PlayerValidationServiceImpl() {
+            @Override
+            public void validateCreateRequest(PlayerDTO player) {
+                super.validateCreateRequest(player);
+                validated.countDown();
+            }
+        };
+        PlayerChunkWriter chunkWriter = new PlayerChunkWriter(null, null, null) {
+            @Override
+            int insert(List<Player> chunk, List<Long> indexes, List<BulkItemError> errors) {
+                try {
+                    validated.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                // the next take() of the writer throws, as on shutdown
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Writer stopped");
+            }
+        };
+        PlayerServiceImpl playerService = new PlayerServiceImpl(null, new PlayerQueryFactory(), new LevelCalculator(),
+                new NoOpPlayerCache(), new NoOpQueryResultCache(), new NoOpPlayerIndex(), new QueryStatistics(500, 1000),
+                null, false, 1000, 10, 1000);
+        importService = new PlayerImportServiceImpl(validationService, playerService, chunkWriter,
+                new NoOpQueryResultCache(), "target/test-import", 1, 1, 1);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            body.append(RECORD);
+        }
+        Future<ImportStatus> status = caller.submit(() -> importService.importStream(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                PlayerImportService.Format.NDJSON));
+
+        assertEquals(ImportStatus.State.FAILED, status.get(5, TimeUnit.SECONDS).getState());
+    }
+}
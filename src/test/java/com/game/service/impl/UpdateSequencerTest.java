@@ -0,0 +1,54 @@
+package com.game.service.impl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class UpdateSequencerTest {
+
+    private final UpdateSequencer sequencer = new UpdateSequencer();
+    private final List<String> patched = new ArrayList<>();
+
+    @Test
+    public void laterCommitWaitsForTheEarlierUpdate() {
+        UpdateSequencer.Ticket first = sequencer.take(1L);
+        UpdateSequencer.Ticket second = sequencer.take(1L);
+
+        sequencer.end(second, () -> patched.add("second"));
+        assertEquals(Collections.emptyList(), patched);
+
+        sequencer.end(first, () -> patched.add("first"));
+        assertEquals(Arrays.asList("first", "second"), patched);
+        assertEquals(0, sequencer.pendingPlayers());
+    }
+
+    @Test
+    public void rollbackLetsTheLaterUpdatesThrough() {
+        UpdateSequencer.Ticket rolledBack = sequencer.take(1L);
+        UpdateSequencer.Ticket committed = sequencer.take(1L);
+
+        sequencer.end(committed, () -> patched.add("committed"));
+        sequencer.end(rolledBack, null);
+
+        assertEquals(Collections.singletonList("committed"), patched);
+        assertEquals(0, sequencer.pendingPlayers());
+    }
+
+    @Test
+    public void otherPlayersDoNotWait() {
+        UpdateSequencer.Ticket pending = sequencer.take(1L);
+        UpdateSequencer.Ticket other = sequencer.take(2L);
+
+        sequencer.end(other, () -> patched.add("other"));
+
+        assertEquals(Collections.singletonList("other"), patched);
+        assertEquals(1, sequencer.pendingPlayers());
+        sequencer.end(pending, null);
+        assertEquals(0, sequencer.pendingPlayers());
+    }
+}
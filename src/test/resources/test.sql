@@ -1,19 +1,6 @@
-DROP TABLE IF EXISTS player;
-
-CREATE TABLE player
-(
-    id             BIGINT(20)  NOT NULL AUTO_INCREMENT,
-    name           VARCHAR(12) NULL,
-    title          VARCHAR(30) NULL,
-    race           VARCHAR(20) NULL,
-    profession     VARCHAR(20) NULL,
-    birthday       DATE        NULL,
-    banned         BIT(1)      NULL,
-    experience     INT(10)     NULL,
-    level          INT(3)      NULL,
-    untilNextLevel INT(10)     NULL,
-    PRIMARY KEY (id)
-);
+-- The schema is created by the Flyway migrations, this script only resets the data.
+DELETE FROM player;
+ALTER TABLE player ALTER COLUMN id RESTART WITH 1;
 
 INSERT INTO player(name, title, race, profession, birthday, banned, experience, level, untilNextLevel)
 VALUES ('Ниус', 'Приходящий Без Шума', 'HOBBIT', 'ROGUE', '2010-10-12', false, 58347, 33, 1153)